@@ -1,3 +1,5 @@
+import java.util.Properties
+
 plugins { java }
 
 repositories {
@@ -21,9 +23,79 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind:2.17.1")
 }
 
+// One JUnit worker per device.N.name entry in config.properties (at least one).
+val devicePoolSize = Properties().apply {
+    file("src/main/resources/config.properties").inputStream().use { load(it) }
+}.stringPropertyNames().count { it.matches(Regex("device\\.\\d+\\.name")) }.coerceAtLeast(1)
+
 tasks.test {
     useJUnitPlatform()
+    systemProperty("junit.jupiter.execution.parallel.config.fixed.parallelism", devicePoolSize)
+    systemProperty("junit.jupiter.execution.parallel.config.fixed.max-pool-size", devicePoolSize)
+    // Run one worker's share of the test classes: -PshardIndex=<1..N> -PshardTotal=<N>
+    (findProperty("shardIndex") as String?)?.let { systemProperty("shard.index", it) }
+    (findProperty("shardTotal") as String?)?.let { systemProperty("shard.total", it) }
+    // Per-command latency of the fake Appium server in FakeServerFlowTests: -Pfake.latencyMs=<ms>
+    (findProperty("fake.latencyMs") as String?)?.let { systemProperty("fake.latencyMs", it) }
     testLogging {
         events("PASSED","FAILED","SKIPPED")
     }
 }
+
+// Device-free microbenchmarks of framework hot paths: gradle jmh [-Pjmh.include=<regex>]
+// The source set also holds the device benchmark run by the sessionStartup task below.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// SessionProfileTests checks the report format of the session startup benchmark kept in src/jmh
+sourceSets.test {
+    compileClasspath += jmh.output
+    runtimeClasspath += jmh.output
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks in src/jmh."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(listOf(
+        findProperty("jmh.include")?.toString() ?: "benchmarks\\..*",
+        "-rf", "json",
+        "-rff", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path
+    ))
+    doFirst { layout.buildDirectory.dir("reports/jmh").get().asFile.mkdirs() }
+}
+
+// Prints the duration-based shard plan: gradle shardPlan -PshardTotal=<N> [-PshardIndex=<1..N>]
+// Reads the default shard.history file; with shardIndex, prints that worker's classes as --tests filters.
+tasks.register<JavaExec>("shardPlan") {
+    group = "verification"
+    description = "Prints how test classes are split across workers by recorded duration."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("framework.sharding.ShardPlanner")
+    args = listOfNotNull(
+        layout.buildDirectory.file("test-history/durations.json").get().asFile.path,
+        (findProperty("shardTotal") as String?) ?: "1",
+        findProperty("shardIndex") as String?
+    )
+}
+
+// Times session startup with the default and the fast session.profile on the configured device:
+// gradle sessionStartup [-Pstartup.runs=<N per profile>]; summary in build/reports/session-startup.txt
+tasks.register<JavaExec>("sessionStartup") {
+    group = "verification"
+    description = "Measures driver session creation time with and without the fast session profile."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("framework.driver.SessionStartupBenchmark")
+    args = listOf((findProperty("startup.runs") as String?) ?: "5")
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import framework.pages.ViewBugsPage;
+import framework.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bug list handling from ViewBugsPage.updateBugList: reading rows from a snapshot,
+ * de-duplicating them across scroll positions, and pulling the ID out of each row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BugListBenchmark {
+    private static final By BUG_LIST = AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"bugList\")");
+
+    @Param({"10", "100"})
+    public int rows;
+
+    private PageSnapshot snapshot;
+    private List<String> visibleRows;
+
+    @Setup
+    public void setUp() {
+        snapshot = PageSnapshot.parse(CannedPages.viewBugs(rows));
+        visibleRows = ViewBugsPage.visibleBugRows(snapshot, BUG_LIST);
+    }
+
+    @Benchmark
+    public List<String> visibleBugRows() {
+        return ViewBugsPage.visibleBugRows(snapshot, BUG_LIST);
+    }
+
+    /** Three overlapping reads of the same screen, as when scrolling through the list. */
+    @Benchmark
+    public Set<String> accumulateAndDedup() {
+        Set<String> accumulated = new LinkedHashSet<>();
+        for (int i = 0; i < 3; i++) {
+            accumulated.addAll(ViewBugsPage.visibleBugRows(snapshot, BUG_LIST));
+        }
+        return accumulated;
+    }
+
+    @Benchmark
+    public void extractIdRegex(Blackhole bh) {
+        for (String row : visibleRows) {
+            bh.consume(ViewBugsPage.extractId(row));
+        }
+    }
+
+    /** The indexOf-based parsing EditBugPageTests.extractBugId uses. */
+    @Benchmark
+    public void extractIdIndexOf(Blackhole bh) {
+        for (String row : visibleRows) {
+            int idStart = row.indexOf("(ID: ") + 5;
+            int idEnd = row.indexOf(")", idStart);
+            bh.consume(row.substring(idStart, idEnd));
+        }
+    }
+}
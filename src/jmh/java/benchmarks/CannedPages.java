@@ -0,0 +1,58 @@
+package benchmarks;
+
+/**
+ * Builds page sources shaped like the app's View Bugs screen, so benchmarks run without a device.
+ */
+final class CannedPages {
+
+    private CannedPages() {}
+
+    /**
+     * @param rows number of bug rows in the list
+     * @return a UiAutomator2 page source with the navigation bar, filters and the given number of rows
+     */
+    static String viewBugs(int rows) {
+        StringBuilder xml = new StringBuilder(512 + rows * 900)
+                .append("<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>")
+                .append("<hierarchy index=\"0\" class=\"hierarchy\" rotation=\"0\" width=\"1080\" height=\"2400\">")
+                .append("<android.widget.FrameLayout index=\"0\" package=\"com.atidcollege.bugtracker\" ")
+                .append("class=\"android.widget.FrameLayout\" text=\"\" bounds=\"[0,0][1080,2400]\" displayed=\"true\">")
+                .append("<android.webkit.WebView index=\"0\" class=\"android.webkit.WebView\" text=\"Bug Tracker\" ")
+                .append("scrollable=\"true\" bounds=\"[0,63][1080,2400]\" displayed=\"true\">")
+                .append("<android.view.View index=\"0\" class=\"android.view.View\" resource-id=\"viewBugsPage\" ")
+                .append("bounds=\"[0,63][1080,2400]\" displayed=\"true\">");
+        int index = 0;
+        for (String nav : new String[]{"Home", "Create Bug", "View Bugs", "All", "Open", "Fixed", "Closed", "Not a Bug"}) {
+            xml.append(node("android.widget.Button", index++, nav, "", 100, true)).append("</android.widget.Button>");
+        }
+        xml.append("<android.widget.EditText index=\"").append(index++)
+                .append("\" class=\"android.widget.EditText\" resource-id=\"searchInput\" bounds=\"[40,300][1040,400]\" displayed=\"true\"/>");
+        xml.append("<android.view.View index=\"").append(index)
+                .append("\" class=\"android.view.View\" resource-id=\"bugList\" bounds=\"[0,420][1080,2400]\" displayed=\"true\">");
+        for (int i = 0; i < rows; i++) {
+            int top = 420 + i * 160;
+            boolean onScreen = top < 2400;
+            xml.append("<android.view.View index=\"").append(i).append("\" class=\"android.view.View\" bounds=\"[0,")
+                    .append(top).append("][1080,").append(top + 150).append("]\" displayed=\"").append(onScreen).append("\">")
+                    .append(node("android.widget.TextView", 0, "Bug number " + i + " (ID: " + (1760000000000L + i) + ")", "", top, onScreen))
+                    .append("</android.widget.TextView>")
+                    .append(node("android.widget.TextView", 1, "Status: Open", "", top + 50, onScreen))
+                    .append("</android.widget.TextView>")
+                    .append(node("android.widget.Button", 2, "Edit", "", top + 90, onScreen))
+                    .append("</android.widget.Button>")
+                    .append(node("android.widget.Button", 3, "Delete", "", top + 90, onScreen))
+                    .append("</android.widget.Button>")
+                    .append("</android.view.View>");
+        }
+        return xml.append("</android.view.View></android.view.View></android.webkit.WebView>")
+                .append("</android.widget.FrameLayout></hierarchy>").toString();
+    }
+
+    private static String node(String className, int index, String text, String resourceId, int top, boolean displayed) {
+        return "<" + className + " index=\"" + index + "\" package=\"com.atidcollege.bugtracker\" class=\"" + className
+                + "\" text=\"" + text + "\" resource-id=\"" + resourceId + "\" checkable=\"false\" checked=\"false\""
+                + " clickable=\"true\" enabled=\"true\" focusable=\"true\" focused=\"false\" long-clickable=\"false\""
+                + " password=\"false\" scrollable=\"false\" selected=\"false\" bounds=\"[40," + top + "][1040," + (top + 40)
+                + "]\" displayed=\"" + displayed + "\">";
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import framework.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a page source into a snapshot and querying it, as every snapshot-based wait does per poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSourceBenchmark {
+    private static final By SCREEN_ROOT = AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"viewBugsPage\")");
+    private static final By EDIT_IN_ROW = AppiumBy.androidUIAutomator(
+            "new UiSelector().textContains(\"(ID: 1760000000010\").fromParent(new UiSelector().text(\"Edit\"))");
+
+    @Param({"10", "100"})
+    public int rows;
+
+    private String source;
+    private PageSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        source = CannedPages.viewBugs(rows);
+        snapshot = PageSnapshot.parse(source);
+    }
+
+    @Benchmark
+    public PageSnapshot parse() {
+        return PageSnapshot.parse(source);
+    }
+
+    @Benchmark
+    public boolean isVisibleResourceId() {
+        return snapshot.isVisible(SCREEN_ROOT);
+    }
+
+    @Benchmark
+    public boolean findFromParent() {
+        return snapshot.find(EDIT_IN_ROW).isPresent();
+    }
+}
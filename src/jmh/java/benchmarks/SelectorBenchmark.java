@@ -0,0 +1,55 @@
+package benchmarks;
+
+import framework.snapshot.UiSelectorQuery;
+import io.appium.java_client.AppiumBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UiSelector locators as BasePage.resourceId()/textElement() build them,
+ * and the parsing that snapshot queries and UiScrollable scrolling do on them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+    public String resourceId = "editBugStatus";
+    public String text = "Save Changes";
+
+    private final By locator = AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"editBugStatus\")");
+    private final String rowExpression =
+            "new UiSelector().textContains(\"(ID: 1760000000002\").fromParent(new UiSelector().text(\"Edit\"))";
+
+    @Benchmark
+    public By buildResourceIdLocator() {
+        return AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"" + resourceId + "\")");
+    }
+
+    @Benchmark
+    public By buildTextLocator() {
+        return AppiumBy.androidUIAutomator("new UiSelector().text(\"" + text + "\")");
+    }
+
+    @Benchmark
+    public String toUiSelectorExpression() {
+        return UiSelectorQuery.toUiSelectorExpression(locator);
+    }
+
+    @Benchmark
+    public UiSelectorQuery parseFromParentExpression() {
+        return UiSelectorQuery.parse(rowExpression);
+    }
+}
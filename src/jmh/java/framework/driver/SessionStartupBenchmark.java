@@ -0,0 +1,109 @@
+package framework.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures how long starting a session takes with each {@link SessionProfile}, on the devices of config.properties.
+ * A run lasts from the new-session request until the session answers its first command.
+ * One unmeasured session first makes sure the UiAutomator2 server and the app are installed,
+ * which the fast profile assumes; after that runs alternate between profiles so changes in device
+ * or server state over the benchmark affect both alike. The summary is printed and written to
+ * build/reports/session-startup.txt.
+ */
+public final class SessionStartupBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStartupBenchmark.class);
+    private static final Path REPORT = Paths.get("build", "reports", "session-startup.txt");
+    private static final Duration LEASE_TIMEOUT = Duration.ofMinutes(2);
+
+    private SessionStartupBenchmark() {}
+
+    /**
+     * Runs the benchmark: {@code [runs per profile]}, default 5.
+     *
+     * @param args optional number of measured sessions per profile
+     */
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        logger.info("Warm-up session (not measured)");
+        time(SessionProfile.DEFAULT);
+
+        Map<SessionProfile, long[]> millis = new EnumMap<>(SessionProfile.class);
+        for (SessionProfile profile : SessionProfile.values()) {
+            millis.put(profile, new long[runs]);
+        }
+        for (int i = 0; i < runs; i++) {
+            for (SessionProfile profile : SessionProfile.values()) {
+                long ms = time(profile);
+                millis.get(profile)[i] = ms;
+                logger.info("Run {}/{} {}: {} ms", i + 1, runs, profile, ms);
+            }
+        }
+
+        String summary = summary(millis);
+        System.out.print(summary);
+        try {
+            Files.createDirectories(REPORT.getParent());
+            Files.write(REPORT, summary.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to write {}: {}", REPORT, e.getMessage());
+        }
+    }
+
+    /**
+     * Formats the measured startup times, one row per profile, and how the fast profile compares.
+     *
+     * @param millis startup times in milliseconds per profile
+     * @return the summary table
+     */
+    public static String summary(Map<SessionProfile, long[]> millis) {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-10s %5s %9s %9s %9s %9s%n",
+                "profile", "runs", "min ms", "median ms", "mean ms", "max ms"));
+        for (Map.Entry<SessionProfile, long[]> row : millis.entrySet()) {
+            long[] ms = sorted(row.getValue());
+            out.append(String.format(Locale.ROOT, "%-10s %5d %9d %9d %9.0f %9d%n",
+                    row.getKey().name().toLowerCase(Locale.ROOT), ms.length, ms[0], median(ms),
+                    Arrays.stream(ms).average().orElse(0), ms[ms.length - 1]));
+        }
+        long[] base = millis.get(SessionProfile.DEFAULT);
+        long[] fast = millis.get(SessionProfile.FAST);
+        if (base != null && fast != null) {
+            long b = median(sorted(base));
+            long f = median(sorted(fast));
+            out.append(String.format(Locale.ROOT, "fast vs default: median %d ms %s (%.0f%%)%n",
+                    Math.abs(b - f), f <= b ? "faster" : "slower", b == 0 ? 0.0 : 100.0 * Math.abs(b - f) / b));
+        }
+        return out.toString();
+    }
+
+    private static long time(SessionProfile profile) {
+        Device device = DevicePool.getInstance().lease(LEASE_TIMEOUT);
+        long start = System.nanoTime();
+        DriverFactory.Session session = DriverFactory.start(device, profile);
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        DriverFactory.close(session);
+        return ms;
+    }
+
+    private static long[] sorted(long[] values) {
+        long[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static long median(long[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
@@ -0,0 +1,280 @@
+package framework.artifacts;
+
+import framework.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Saves a screenshot, the page source and recent device logs when a test fails, without holding up the test thread.
+ * The test thread only fetches the raw data from the session (the screenshot stays base64 encoded);
+ * decoding, formatting and compressing into one zip per failure happen on a small background pool.
+ * The pool's queue is bounded: when failures pile up faster than they are written, further captures
+ * are dropped and counted rather than blocking the suite. Pending captures are written when the JVM exits.
+ */
+public final class FailureArtifacts {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifacts.class);
+    private static final DateTimeFormatter STAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter LOG_TIME =
+            DateTimeFormatter.ofPattern("MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile FailureArtifacts instance;
+
+    /** Raw data fetched from a session at the moment of failure. */
+    public static final class Capture {
+        final String testName;
+        final Instant time = Instant.now();
+        final String screenshotBase64;
+        final String pageSource;
+        final Map<String, List<LogEntry>> logs;
+        final List<String> errors;
+
+        /**
+         * @param testName name of the failed test, used for the file name
+         * @param screenshotBase64 PNG screenshot as returned by the server, or null
+         * @param pageSource the page source, or null
+         * @param logs device log entries by log type
+         * @param errors what could not be fetched and why
+         */
+        public Capture(String testName, String screenshotBase64, String pageSource,
+                       Map<String, List<LogEntry>> logs, List<String> errors) {
+            this.testName = testName;
+            this.screenshotBase64 = screenshotBase64;
+            this.pageSource = pageSource;
+            this.logs = logs;
+            this.errors = errors;
+        }
+    }
+
+    private final Path dir;
+    private final List<String> logTypes;
+    private final int maxLogEntries;
+    private final ThreadPoolExecutor writer;
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param dir directory the zips are written to
+     * @param threads number of writer threads
+     * @param queueCapacity captures that may wait for a writer before new ones are dropped
+     * @param logTypes device log types to fetch, e.g. logcat
+     * @param maxLogEntries how many of the most recent entries of each log are kept
+     */
+    public FailureArtifacts(Path dir, int threads, int queueCapacity, List<String> logTypes, int maxLogEntries) {
+        this.dir = dir;
+        this.logTypes = List.copyOf(logTypes);
+        this.maxLogEntries = maxLogEntries;
+        AtomicInteger n = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "failure-artifacts-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns the shared instance configured by config.properties: {@code artifacts.dir}
+     * (default build/reports/failures), {@code artifacts.threads} (1), {@code artifacts.queue} (8),
+     * {@code artifacts.logTypes} (comma separated, default logcat) and {@code artifacts.maxLogEntries} (2000).
+     * Pending captures are written, up to 30 seconds, when the JVM exits.
+     *
+     * @return the shared instance
+     */
+    public static FailureArtifacts getInstance() {
+        FailureArtifacts a = instance;
+        if (a == null) {
+            synchronized (FailureArtifacts.class) {
+                if (instance == null) {
+                    String dir = Config.getOrNull("artifacts.dir");
+                    String types = Config.getOrNull("artifacts.logTypes");
+                    List<String> logTypes = new ArrayList<>();
+                    for (String t : (types == null ? "logcat" : types).split(",")) {
+                        if (!t.isBlank()) logTypes.add(t.trim());
+                    }
+                    instance = new FailureArtifacts(Paths.get(dir == null ? "build/reports/failures" : dir.trim()),
+                            Math.max(1, Config.getInt("artifacts.threads", 1)),
+                            Math.max(1, Config.getInt("artifacts.queue", 8)), logTypes,
+                            Math.max(1, Config.getInt("artifacts.maxLogEntries", 2000)));
+                    FailureArtifacts created = instance;
+                    Runtime.getRuntime().addShutdownHook(new Thread(
+                            () -> created.shutdown(Duration.ofSeconds(30)), "failure-artifacts-flush"));
+                }
+                a = instance;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Fetches the failure data from the session and queues it for writing.
+     * Each item is fetched separately, so a session that cannot produce one still yields the others.
+     *
+     * @param driver the failed test's session
+     * @param testName name of the failed test
+     * @return true if the capture was queued, false if it was dropped because the queue is full
+     */
+    public boolean capture(AndroidDriver driver, String testName) {
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        String screenshot = null;
+        String source = null;
+        Map<String, List<LogEntry>> logs = new LinkedHashMap<>();
+        try {
+            screenshot = driver.getScreenshotAs(OutputType.BASE64);
+        } catch (WebDriverException e) {
+            errors.add("screenshot: " + e.getMessage());
+        }
+        try {
+            source = driver.getPageSource();
+        } catch (WebDriverException e) {
+            errors.add("page source: " + e.getMessage());
+        }
+        for (String type : logTypes) {
+            try {
+                logs.put(type, latest(driver.manage().logs().get(type).getAll()));
+            } catch (WebDriverException e) {
+                errors.add(type + " log: " + e.getMessage());
+            }
+        }
+        boolean queued = submit(new Capture(testName, screenshot, source, logs, errors));
+        logger.debug("Fetched failure data for {} in {} ms", testName, (System.nanoTime() - start) / 1_000_000);
+        return queued;
+    }
+
+    /**
+     * Keeps the newest entries of a log, so a long session's whole log is not copied and written.
+     *
+     * @param entries the log as fetched
+     * @return at most maxLogEntries of its last entries
+     */
+    private List<LogEntry> latest(List<LogEntry> entries) {
+        return entries.size() <= maxLogEntries ? entries
+                : new ArrayList<>(entries.subList(entries.size() - maxLogEntries, entries.size()));
+    }
+
+    /**
+     * Queues captured data for writing.
+     *
+     * @param capture the data to write
+     * @return true if queued, false if dropped because the queue is full
+     */
+    public boolean submit(Capture capture) {
+        captured.incrementAndGet();
+        try {
+            writer.execute(() -> write(capture));
+            logger.info("Queued failure artifacts for {} (queue depth {})", capture.testName, writer.getQueue().size());
+            return true;
+        } catch (RejectedExecutionException e) {
+            long n = dropped.incrementAndGet();
+            logger.warn("Dropped failure artifacts for {} - writer queue full ({} dropped so far)", capture.testName, n);
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting captures and waits for the queued ones to be written.
+     *
+     * @param timeout how long to wait for pending writes
+     */
+    public void shutdown(Duration timeout) {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Gave up waiting for {} pending failure artifact(s)", writer.getQueue().size() + writer.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (captured.get() > 0) {
+            logger.info("Failure artifacts: {}", stats());
+        }
+    }
+
+    /**
+     * @return counts of captured, written, dropped and failed artifacts and the current queue depth
+     */
+    public String stats() {
+        return "captured=" + captured.get() + " written=" + written.get() + " dropped=" + dropped.get()
+                + " failed=" + failed.get() + " queued=" + writer.getQueue().size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int getQueueDepth() {
+        return writer.getQueue().size();
+    }
+
+    private void write(Capture capture) {
+        Path zip = dir.resolve(capture.testName.replaceAll("[^A-Za-z0-9._-]", "_")
+                + "-" + STAMP.format(capture.time) + ".zip");
+        try {
+            Files.createDirectories(dir);
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+                if (capture.screenshotBase64 != null) {
+                    entry(out, "screenshot.png", Base64.getMimeDecoder().decode(capture.screenshotBase64));
+                }
+                if (capture.pageSource != null) {
+                    entry(out, "page-source.xml", capture.pageSource.getBytes(StandardCharsets.UTF_8));
+                }
+                for (Map.Entry<String, List<LogEntry>> log : capture.logs.entrySet()) {
+                    StringBuilder text = new StringBuilder();
+                    for (LogEntry e : log.getValue()) {
+                        text.append(LOG_TIME.format(Instant.ofEpochMilli(e.getTimestamp()))).append(' ')
+                                .append(e.getLevel()).append(' ').append(e.getMessage()).append('\n');
+                    }
+                    entry(out, log.getKey() + ".log", text.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                if (!capture.errors.isEmpty()) {
+                    entry(out, "errors.txt", String.join("\n", capture.errors).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            written.incrementAndGet();
+            logger.info("Wrote failure artifacts {}", zip);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            logger.warn("Failed to write failure artifacts {}: {}", zip, e.getMessage());
+        }
+    }
+
+    private static void entry(ZipOutputStream out, String name, byte[] bytes) throws IOException {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(bytes);
+        out.closeEntry();
+    }
+}
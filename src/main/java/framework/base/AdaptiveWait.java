@@ -0,0 +1,171 @@
+package framework.base;
+
+import framework.trace.Tracer;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Polling wait shared by all waits of a page object.
+ * Polls quickly at first so a condition that is already true returns almost immediately,
+ * then backs off geometrically up to a ceiling so long waits don't flood the server.
+ * Records how many polls the last wait made and how long it took.
+ * Not thread-safe; each page object owns its own instance.
+ */
+public final class AdaptiveWait {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveWait.class);
+
+    static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofMillis(50);
+    static final Duration DEFAULT_MAX_INTERVAL = Duration.ofMillis(500);
+    static final double DEFAULT_BACKOFF = 1.5;
+
+    private final AndroidDriver driver;
+    private final long initialIntervalNanos;
+    private final long maxIntervalNanos;
+    private final double backoff;
+
+    private int lastPolls;
+    private long lastElapsedNanos;
+    private long totalPolls;
+    private long totalWaitNanos;
+
+    /**
+     * Constructs a wait with the default schedule: 50 ms first interval, x1.5 backoff, 500 ms ceiling.
+     *
+     * @param driver the driver passed to the conditions
+     */
+    public AdaptiveWait(AndroidDriver driver) {
+        this(driver, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL, DEFAULT_BACKOFF);
+    }
+
+    /**
+     * Constructs a wait with a custom polling schedule.
+     *
+     * @param driver the driver passed to the conditions
+     * @param initialInterval pause after the first unsuccessful poll
+     * @param maxInterval ceiling for the pause between polls
+     * @param backoff factor the pause grows by after each unsuccessful poll (at least 1)
+     */
+    public AdaptiveWait(AndroidDriver driver, Duration initialInterval, Duration maxInterval, double backoff) {
+        if (backoff < 1) {
+            throw new IllegalArgumentException("backoff must be >= 1, was " + backoff);
+        }
+        this.driver = driver;
+        this.initialIntervalNanos = initialInterval.toNanos();
+        this.maxIntervalNanos = Math.max(maxInterval.toNanos(), initialIntervalNanos);
+        this.backoff = backoff;
+    }
+
+    /**
+     * Polls a condition until it returns a non-null, non-false value.
+     * {@link NotFoundException} and {@link StaleElementReferenceException} thrown by the
+     * condition count as "not yet".
+     *
+     * @param condition the condition to evaluate, e.g. an ExpectedConditions instance
+     * @param timeout maximum time to keep polling
+     * @param <T> the condition's result type
+     * @return the condition's first truthy result
+     * @throws TimeoutException if the condition is not met within the timeout
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        return Tracer.call(Tracer.WAIT, "until", condition, () -> {
+            long start = System.nanoTime();
+            long deadline = start + timeout.toNanos();
+            long interval = initialIntervalNanos;
+            int polls = 0;
+            RuntimeException lastError = null;
+
+            while (true) {
+                polls++;
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        record(polls, start, condition, true);
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    record(polls, start, condition, false);
+                    throw new TimeoutException(String.format(
+                            "Expected condition failed: waiting for %s (tried for %d ms with %d polls)",
+                            condition, timeout.toMillis(), polls), lastError);
+                }
+                sleep(Math.min(interval, deadline - now));
+                interval = Math.min((long) (interval * backoff), maxIntervalNanos);
+            }
+        });
+    }
+
+    /**
+     * Polls a condition and reports whether it was met, without throwing on timeout.
+     *
+     * @param condition the condition to evaluate
+     * @param timeout maximum time to keep polling
+     * @return true if the condition was met within the timeout
+     */
+    public boolean isMet(Function<? super WebDriver, ?> condition, Duration timeout) {
+        try {
+            until(condition, timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return number of times the condition was evaluated during the last wait
+     */
+    public int getLastPolls() {
+        return lastPolls;
+    }
+
+    /**
+     * @return how long the last wait took
+     */
+    public Duration getLastElapsed() {
+        return Duration.ofNanos(lastElapsedNanos);
+    }
+
+    /**
+     * @return number of condition evaluations across all waits of this instance
+     */
+    public long getTotalPolls() {
+        return totalPolls;
+    }
+
+    /**
+     * @return time spent waiting across all waits of this instance
+     */
+    public Duration getTotalWait() {
+        return Duration.ofNanos(totalWaitNanos);
+    }
+
+    private void record(int polls, long start, Object condition, boolean met) {
+        lastPolls = polls;
+        lastElapsedNanos = System.nanoTime() - start;
+        totalPolls += polls;
+        totalWaitNanos += lastElapsedNanos;
+        logger.debug("Wait for {} {} after {} polls in {} ms",
+                condition, met ? "met" : "timed out", polls, lastElapsedNanos / 1_000_000);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package framework.base;
 
+import framework.components.GestureEngine;
 import framework.pages.CreateBugPage;
+import framework.pages.Screen;
+import framework.pages.ScreenClassifier;
 import framework.pages.ViewBugsPage;
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.UiSelectorQuery;
+import framework.trace.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,13 +24,16 @@ import java.time.Duration;
  * Base class for all page objects, providing common mobile interaction methods.
  * Handles waiting, scrolling, element location, and navigation between pages.
  * All page objects should extend this class to inherit core functionality.
+ * Page actions, waits and scrolls are recorded as nested spans when the test is traced (see {@link Tracer}).
  */
 
 public abstract class BasePage {
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
     protected final AndroidDriver driver;
     protected final Duration explicitTimeout;
-    protected final WebDriverWait wait;
+    protected final AdaptiveWait poller;
+    protected final GestureEngine gestures;
+    protected final UiSync uiSync;
 
     protected final By createBugButton = textElement("Create Bug");
     protected final By viewBugsButton = textElement("View Bugs");
@@ -39,7 +48,9 @@ public abstract class BasePage {
     public BasePage(AndroidDriver driver, Duration explicitTimeout){
         this.driver = driver;
         this.explicitTimeout = explicitTimeout;
-        this.wait = new WebDriverWait(driver, explicitTimeout);
+        this.poller = new AdaptiveWait(driver);
+        this.gestures = new GestureEngine(driver);
+        this.uiSync = new UiSync(driver, poller);
     }
 
     /**
@@ -50,7 +61,9 @@ public abstract class BasePage {
      * @throws TimeoutException if element is not visible within the timeout period
      */
     protected WebElement waitVisible (By locator){
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        WebElement element = poller.until(ExpectedConditions.visibilityOfElementLocated(locator), explicitTimeout);
+        elements().put(locator, element);
+        return element;
     }
 
 
@@ -63,20 +76,34 @@ public abstract class BasePage {
      */
     protected WebElement waitClickable(By locator){
         scrollIntoViewIfNeeded(locator);
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        WebElement element = poller.until(ExpectedConditions.elementToBeClickable(locator), explicitTimeout);
+        elements().put(locator, element);
+        return element;
     }
 
     /**
      * Clicks an element after ensuring it's visible and clickable.
-     * Scrolls the element into view if necessary before clicking.
+     * Scrolls the element into view if necessary before clicking. A handle cached from an
+     * earlier interaction on this screen is clicked directly if it is still displayed;
+     * if that fails the element is looked up again.
      *
      * @param locator the element locator strategy
      * @throws TimeoutException if element cannot be clicked within the timeout period
      */
     public void click(By locator){
-        WebElement element = waitClickable(locator);
-        scrollIntoViewIfNeeded(locator);
-        element.click();
+        Tracer.run(Tracer.ACTION, "click", locator, () -> {
+            WebElement cached = displayedCached(locator);
+            if (cached != null) {
+                try {
+                    cached.click();
+                    return;
+                } catch (WebDriverException e) {
+                    logger.debug("Click on cached element failed, finding it again: {} ({})", locator, e.getMessage());
+                    elements().evict(locator);
+                }
+            }
+            waitClickable(locator).click();
+        });
     }
 
     /**
@@ -87,9 +114,18 @@ public abstract class BasePage {
      * @throws TimeoutException if element is not visible within the timeout period
      */
     protected void type(By locator, String text){
-        WebElement element = waitVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        Tracer.run(Tracer.ACTION, "type", locator, () -> {
+            WebElement element = cachedOrVisible(locator);
+            try {
+                element.clear();
+            } catch (WebDriverException e) {
+                logger.debug("Clearing cached element failed, finding it again: {} ({})", locator, e.getMessage());
+                elements().evict(locator);
+                element = waitVisible(locator);
+                element.clear();
+            }
+            element.sendKeys(text);
+        });
     }
 
     /**
@@ -100,8 +136,71 @@ public abstract class BasePage {
      * @throws TimeoutException if element is not visible within the timeout period
      */
     protected String text(By locator){
-        WebElement element = waitVisible(locator);
-        return element.getText();
+        return Tracer.call(Tracer.ACTION, "text", locator, () -> {
+            WebElement element = cachedOrVisible(locator);
+            try {
+                return element.getText();
+            } catch (WebDriverException e) {
+                logger.debug("Reading cached element failed, finding it again: {} ({})", locator, e.getMessage());
+                elements().evict(locator);
+                return waitVisible(locator).getText();
+            }
+        });
+    }
+
+    /**
+     * Returns the cached handle for a locator if it is still displayed, or waits for the element and caches it.
+     *
+     * @param locator the element locator strategy
+     * @return the element handle
+     */
+    private WebElement cachedOrVisible(By locator) {
+        WebElement cached = displayedCached(locator);
+        return cached != null ? cached : waitVisible(locator);
+    }
+
+    /**
+     * Returns the cached handle for a locator after checking the element is still displayed.
+     * UiAutomator2 rarely reports a handle as stale; an element scrolled off screen or
+     * replaced by another screen's shows up as not displayed or as some other failure instead.
+     *
+     * @param locator the element locator strategy
+     * @return the cached handle, or null if there is none or it is no longer usable (it is then evicted)
+     */
+    private WebElement displayedCached(By locator) {
+        WebElement cached = elements().get(locator);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            if (cached.isDisplayed()) {
+                return cached;
+            }
+            logger.debug("Cached element is no longer displayed, finding it again: {}", locator);
+        } catch (WebDriverException e) {
+            logger.debug("Cached element is unusable, finding it again: {} ({})", locator, e.getMessage());
+        }
+        elements().evict(locator);
+        return null;
+    }
+
+    /**
+     * Looks the cache up on each use rather than keeping it, so a page object created before the
+     * session's cache was dropped (e.g. after an app restart) does not keep using the old one.
+     *
+     * @return the element cache of this page's session
+     */
+    private ElementCache elements() {
+        return ElementCache.forSession(driver == null ? null : driver.getSessionId());
+    }
+
+    /**
+     * Drops all cached element handles of this session.
+     * Called whenever the screen is replaced or scrolled, since the handles then
+     * point at elements that are gone or have moved.
+     */
+    protected void forgetElements() {
+        elements().clear();
     }
 
     /**
@@ -112,19 +211,22 @@ public abstract class BasePage {
      * @return true if element is visible, false otherwise
      */
     protected boolean isVisible(By locator){
+        return poller.isMet(ExpectedConditions.visibilityOfElementLocated(locator), shortTimeout());
+    }
+
+    /**
+     * Returns the reduced timeout used for quick presence checks:
+     * a quarter of the explicit timeout, clamped to 1-5 seconds.
+     *
+     * @return the short timeout duration
+     */
+    protected Duration shortTimeout() {
         Duration shortWait = explicitTimeout.dividedBy(4);
         Duration minWait = Duration.ofSeconds(1);
         Duration maxWait = Duration.ofSeconds(5);
         if (shortWait.compareTo(minWait) < 0) shortWait = minWait;
         if (shortWait.compareTo(maxWait) > 0) shortWait = maxWait;
-
-        WebDriverWait tempWaiter = new WebDriverWait(driver, shortWait);
-        try{
-            tempWaiter.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            return true;
-        } catch(TimeoutException e){
-            return false;
-        }
+        return shortWait;
     }
 
     /**
@@ -174,6 +276,34 @@ public abstract class BasePage {
                 "new UiSelector().text(\"" + text + "\")");
     }
 
+    /**
+     * Waits until the screen stops changing after an action, up to the short timeout.
+     * Returns as soon as two consecutive hierarchy reads match.
+     */
+    public void waitForUiIdle() {
+        uiSync.awaitStable(shortTimeout());
+    }
+
+    /**
+     * Captures the current screen hierarchy in a single round trip.
+     * Use for several read-only checks against a screen that is not changing;
+     * the snapshot does not update after further interactions.
+     *
+     * @return the parsed snapshot of the current screen
+     */
+    public PageSnapshot snapshot() {
+        return PageSnapshot.capture(driver);
+    }
+
+    /**
+     * Identifies the screen the app is currently on with a single hierarchy read.
+     *
+     * @return the current screen, or Screen.UNKNOWN if it is not recognized
+     */
+    public Screen currentScreen() {
+        return ScreenClassifier.classify(snapshot());
+    }
+
     /**
      * Normalizes a string by trimming whitespace, converting null to empty string.
      *
@@ -190,8 +320,11 @@ public abstract class BasePage {
      * @return a new CreateBugPage instance
      */
     public CreateBugPage clickCreateBug() {
-        click(createBugButton);
-        return new CreateBugPage(driver, explicitTimeout);
+        return Tracer.call(Tracer.ACTION, "clickCreateBug", () -> {
+            click(createBugButton);
+            forgetElements();
+            return new CreateBugPage(driver, explicitTimeout);
+        });
     }
 
     /**
@@ -200,15 +333,21 @@ public abstract class BasePage {
      * @return a new ViewBugsPage instance
      */
     public ViewBugsPage clickViewBugs() {
-        click(viewBugsButton);
-        return new ViewBugsPage(driver, explicitTimeout);
+        return Tracer.call(Tracer.ACTION, "clickViewBugs", () -> {
+            click(viewBugsButton);
+            forgetElements();
+            return new ViewBugsPage(driver, explicitTimeout);
+        });
     }
 
     /**
      * Navigates back to the home page by clicking the Home button.
      */
     public void clickHome() {
-        click(homeButton);
+        Tracer.run(Tracer.ACTION, "clickHome", () -> {
+            click(homeButton);
+            forgetElements();
+        });
     }
 
     /*public boolean isCreateBugButtonVisible() {
@@ -225,39 +364,25 @@ public abstract class BasePage {
 
     /**
      * Performs a vertical scroll gesture in the specified direction.
-     * Executes two consecutive swipes for more reliable scrolling.
+     * Uses the session's cached viewport and the configured swipe profile.
      *
      * @param direction "up" or "down" (case insensitive)
+     * @return true if the content may scroll further in this direction, false once the end is reached
      * @throws IllegalArgumentException if direction is not "up" or "down"
      */
-    public void scroll(String direction) {
-        String normalized = normalize(direction).toLowerCase();
-        if (!normalized.equals("up") && !normalized.equals("down")) {
-            throw new IllegalArgumentException("Direction must be 'up' or 'down'");
-        }
-
-        int width = driver.manage().window().getSize().getWidth();
-        int height = driver.manage().window().getSize().getHeight();
-        int centerX = width / 2;
-
-        int startY, endY;
-
-        if (normalized.equals("down")) {
-            startY = height * 3 / 4;
-            endY = height / 2;
-        } else {
-            startY = height / 2;
-            endY = height * 65 / 70;
-        }
-
-        performSwipe(centerX, startY, centerX, endY);
-        performSwipe(centerX, startY, centerX, endY);
+    public boolean scroll(String direction) {
+        return Tracer.call(Tracer.SCROLL, "scroll", direction, () -> {
+            forgetElements();
+            return gestures.scroll(GestureEngine.Direction.parse(direction));
+        });
     }
 
 
     /**
      * Scrolls an element into view if it's not already visible.
-     * Attempts scrolling down (3 times) then up (5 times) to find the element.
+     * First asks the device to scroll the screen's scrollable container with a single
+     * UiScrollable.scrollIntoView command. If that is not possible for this locator or
+     * fails, falls back to scrolling down (3 times) then up (5 times) to find the element.
      *
      * @param locator the element to scroll into view
      * @throws AssertionError if element is not found after all scroll attempts
@@ -265,42 +390,58 @@ public abstract class BasePage {
     public void scrollIntoViewIfNeeded(By locator) {
         if (isVisible(locator)) return;
 
-        logger.debug("Scrolling to find element: {}", locator);
-
-        for(int i = 0; i < 3; i++)
-        {scroll("down"); if (isVisible(locator)) return;}
-        for(int i = 0; i < 5; i++)
-        {scroll("up"); if (isVisible(locator)) return;}
+        Tracer.run(Tracer.SCROLL, "scrollIntoView", locator, () -> {
+            forgetElements();
+            if (scrollIntoViewOnDevice(locator)) {
+                logger.debug("Scrolled into view with UiScrollable: {}", locator);
+                return;
+            }
+
+            logger.info("UiScrollable could not reach {} - falling back to swipe loop", locator);
+
+            for(int i = 0; i < 3; i++)
+            {boolean more = scroll("down"); if (isVisible(locator)) return; if (!more) break;}
+            for(int i = 0; i < 5; i++)
+            {boolean more = scroll("up"); if (isVisible(locator)) return; if (!more) break;}
+
+            if (!isVisible(locator)) {
+                logger.error("Element not found after scrolling: {}", locator);
+                throw new AssertionError("Element not found after scrolling: " + locator);
+            }
+        });
+    }
 
-        if (!isVisible(locator)) {
-            logger.error("Element not found after scrolling: {}", locator);
-            throw new AssertionError("Element not found after scrolling: " + locator);
-        }
+    /**
+     * Returns the UiSelector of the container that scrollIntoViewIfNeeded scrolls on the device.
+     * Pages with several scrollable areas can override this to target the right one.
+     *
+     * @return a UiSelector expression matching the scrollable container
+     */
+    protected String scrollContainerSelector() {
+        return "new UiSelector().scrollable(true)";
     }
 
     /**
-     * Executes a swipe gesture using W3C Actions API.
+     * Scrolls the element into view on the device with one UiScrollable.scrollIntoView call.
      *
-     * @param startX starting X coordinate
-     * @param startY starting Y coordinate
-     * @param endX ending X coordinate
-     * @param endY ending Y coordinate
+     * @param locator the element to bring into view
+     * @return true if the device found the element, false if the locator has no UiSelector
+     *         form or the device could not reach it
      */
-    private void performSwipe(int startX, int startY, int endX, int endY) {
-        org.openqa.selenium.interactions.PointerInput finger =
-                new org.openqa.selenium.interactions.PointerInput(
-                        org.openqa.selenium.interactions.PointerInput.Kind.TOUCH, "finger");
-        org.openqa.selenium.interactions.Sequence swipe =
-                new org.openqa.selenium.interactions.Sequence(finger, 1);
-
-        swipe.addAction(finger.createPointerMove(Duration.ZERO,
-                org.openqa.selenium.interactions.PointerInput.Origin.viewport(), startX, startY));
-        swipe.addAction(finger.createPointerDown(org.openqa.selenium.interactions.PointerInput.MouseButton.LEFT.asArg()));
-        swipe.addAction(finger.createPointerMove(Duration.ofMillis(900),
-                org.openqa.selenium.interactions.PointerInput.Origin.viewport(), endX, endY));
-        swipe.addAction(finger.createPointerUp(org.openqa.selenium.interactions.PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(java.util.Collections.singletonList(swipe));
+    private boolean scrollIntoViewOnDevice(By locator) {
+        String target = UiSelectorQuery.toUiSelectorExpression(locator);
+        if (target == null || !target.trim().startsWith("new UiSelector()")) {
+            return false;
+        }
+        try {
+            driver.findElement(AppiumBy.androidUIAutomator(
+                    "new UiScrollable(" + scrollContainerSelector() + ").setAsVerticalList()" +
+                            ".scrollIntoView(" + target + ")"));
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("UiScrollable.scrollIntoView failed for {}: {}", locator, e.getMessage());
+            return false;
+        }
     }
 
 }
@@ -0,0 +1,74 @@
+package framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Element handles found on the current screen, keyed by locator.
+ * Shared by all page objects of a session, so navigating through any page object
+ * clears the handles every other page object holds for the screen that was left.
+ * Each session is driven by one thread, so a single cache is not synchronized.
+ */
+public final class ElementCache {
+    private static final Map<SessionId, ElementCache> SESSIONS = new ConcurrentHashMap<>();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    /**
+     * @param session the session to get the cache of, or null for an uncached throwaway instance
+     * @return the session's cache
+     */
+    static ElementCache forSession(SessionId session) {
+        if (session == null) {
+            return new ElementCache();
+        }
+        return SESSIONS.computeIfAbsent(session, s -> new ElementCache());
+    }
+
+    /**
+     * Drops the cache of a session that has ended or whose app was restarted.
+     *
+     * @param session the session ID to forget
+     */
+    public static void forgetSession(SessionId session) {
+        ElementCache cache = session == null ? null : SESSIONS.remove(session);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @param locator the locator the element was found with
+     * @return the cached handle, or null if there is none
+     */
+    WebElement get(By locator) {
+        return elements.get(locator);
+    }
+
+    /**
+     * @param locator the locator the element was found with
+     * @param element the handle to reuse for later interactions with the locator
+     */
+    void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    /**
+     * @param locator the locator whose handle went stale
+     */
+    void evict(By locator) {
+        elements.remove(locator);
+    }
+
+    /**
+     * Drops all handles, e.g. after navigating or scrolling.
+     */
+    void clear() {
+        elements.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package framework.base;
+
+import framework.trace.Tracer;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Waits for the screen to settle after an action instead of sleeping for a fixed time.
+ * The screen counts as settled once two consecutive hierarchy reads are identical;
+ * UiAutomator2 already waits for the app's UI thread to go idle before answering each read,
+ * so a quiet screen settles after two round trips and a busy one keeps polling until it stops changing.
+ */
+public final class UiSync {
+    private static final Logger logger = LoggerFactory.getLogger(UiSync.class);
+
+    private final AndroidDriver driver;
+    private final AdaptiveWait poller;
+
+    /**
+     * Constructs a UiSync with its own polling schedule.
+     *
+     * @param driver the Android driver to read the hierarchy from
+     */
+    public UiSync(AndroidDriver driver) {
+        this(driver, new AdaptiveWait(driver));
+    }
+
+    /**
+     * Constructs a UiSync that shares an existing wait.
+     *
+     * @param driver the Android driver to read the hierarchy from
+     * @param poller the wait used to poll the hierarchy
+     */
+    public UiSync(AndroidDriver driver, AdaptiveWait poller) {
+        this.driver = driver;
+        this.poller = poller;
+    }
+
+    /**
+     * Waits until the hierarchy stops changing.
+     * Never throws on timeout: an animation that never ends should not fail the test here.
+     *
+     * @param timeout maximum time to wait for the screen to settle
+     * @return true if the screen settled, false if it was still changing at the timeout
+     */
+    public boolean awaitStable(Duration timeout) {
+        return Tracer.call(Tracer.WAIT, "awaitStable", () -> {
+            int[] previous = {0};
+            boolean[] first = {true};
+            try {
+                poller.until(d -> {
+                    int current = driver.getPageSource().hashCode();
+                    boolean stable = !first[0] && current == previous[0];
+                    first[0] = false;
+                    previous[0] = current;
+                    return stable;
+                }, timeout);
+                logger.debug("UI settled after {} hierarchy reads in {} ms",
+                        poller.getLastPolls(), poller.getLastElapsed().toMillis());
+                return true;
+            } catch (TimeoutException e) {
+                logger.debug("UI still changing after {} ms", timeout.toMillis());
+                return false;
+            }
+        });
+    }
+}
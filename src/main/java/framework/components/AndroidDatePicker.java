@@ -1,9 +1,12 @@
 package framework.components;
 
 import framework.base.BasePage;
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.SnapshotNode;
+import framework.trace.Tracer;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +16,10 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * Component for interacting with Android's native date picker dialogs.
@@ -23,10 +29,14 @@ import java.util.Locale;
 public class AndroidDatePicker extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(AndroidDatePicker.class);
     private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Duration MONTH_PAGE_SETTLE = Duration.ofMillis(300);
 
     private final By yearHeader;
     private final By yearList;
     private final By setButton;
+    private final By nextMonth;
+    private final By prevMonth;
+    private final By firstOfMonth;
 
     /**
      * Constructs an AndroidDatePicker with the given driver and timeout.
@@ -39,6 +49,10 @@ public class AndroidDatePicker extends BasePage {
         this.yearHeader = id("android:id/date_picker_header_year");
         this.yearList = id("android:id/date_picker_year_picker");
         this.setButton = id("android:id/button1");
+        this.nextMonth = id("android:id/next");
+        this.prevMonth = id("android:id/prev");
+        this.firstOfMonth = io.appium.java_client.AppiumBy.androidUIAutomator(
+                "new UiSelector().className(\"android.view.View\").descriptionStartsWith(\"01 \")");
     }
 
 
@@ -51,64 +65,132 @@ public class AndroidDatePicker extends BasePage {
      * @throws IllegalStateException if date picker UI structure has changed
      */
     public void pick(By dateField, String dateStr) {
-        logger.info("Selecting date: {}", dateStr);
-        LocalDate date = LocalDate.parse(dateStr, INPUT_FORMAT);
-        click(dateField);
-        waitVisible(yearHeader);
+        Tracer.run(Tracer.ACTION, "AndroidDatePicker.pick", dateStr, () -> {
+            logger.info("Selecting date: {}", dateStr);
+            LocalDate date = LocalDate.parse(dateStr, INPUT_FORMAT);
+            click(dateField);
+            waitVisible(yearHeader);
 
-        selectYear(date.getYear());
-        selectMonthAndDay(date.getMonthValue(), date.getDayOfMonth());
+            selectYear(date.getYear());
+            selectMonthAndDay(date.getMonthValue(), date.getDayOfMonth());
 
-        click(setButton);
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(yearHeader));
-        logger.info("Date selected successfully: {}", dateStr);
+            click(setButton);
+            poller.until(ExpectedConditions.invisibilityOfElementLocated(yearHeader), explicitTimeout);
+            forgetElements();
+            logger.info("Date selected successfully: {}", dateStr);
+        });
     }
 
     /**
      * Selects a year in the date picker by scrolling through the year list.
-     * Intelligently scrolls based on distance from current year.
+     * Positions the list with one calculated drag, falling back to scrolling
+     * step by step based on distance from current year.
      *
      * @param year the four digit year to select
      * @throws IllegalStateException if year header is not numeric or year cannot be found
      */
     private void selectYear(int year) {
-        logger.debug("Navigating to year: {}", year);
-        click(yearHeader);
-        waitVisible(yearList);
+        Tracer.run(Tracer.ACTION, "AndroidDatePicker.selectYear", year, () -> {
+            logger.debug("Navigating to year: {}", year);
+            click(yearHeader);
+            waitVisible(yearList);
 
-        String headerText = waitVisible(yearHeader).getText();
-        int current;
-        try {
-            current = Integer.parseInt(headerText.replaceAll("\\D",""));
-        } catch (NumberFormatException e) {
-            throw new IllegalStateException("Year header not numeric: '" + headerText + "' (UI changed?)", e);
-        }
+            String headerText = waitVisible(yearHeader).getText();
+            int current;
+            try {
+                current = Integer.parseInt(headerText.replaceAll("\\D",""));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Year header not numeric: '" + headerText + "' (UI changed?)", e);
+            }
 
-        By yearItem = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().resourceId(\"android:id/date_picker_year_picker\")" +
-                        ".childSelector(new UiSelector().className(\"android.widget.TextView\").text(\"" + year + "\"))");
+            By yearItem = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().resourceId(\"android:id/date_picker_year_picker\")" +
+                            ".childSelector(new UiSelector().className(\"android.widget.TextView\").text(\"" + year + "\"))");
+
+            if (positionYearList(year)) {
+                click(yearItem);
+                poller.until(ExpectedConditions.textToBe(yearHeader, String.valueOf(year)), explicitTimeout);
+                return;
+            }
+            logger.info("Calculated year scroll did not reveal {} - falling back to stepwise scrolling", year);
 
-        String scroller =
-                "new UiScrollable(new UiSelector().resourceId(\"android:id/date_picker_year_picker\")).setAsVerticalList()";
+            String scroller =
+                    "new UiScrollable(new UiSelector().resourceId(\"android:id/date_picker_year_picker\")).setAsVerticalList()";
 
-        int swipes = 0, maxSwipes = Math.abs(year - current) + 3;
-        while (driver.findElements(yearItem).isEmpty() && swipes++ < maxSwipes) {
-            if (year < current) {
-                driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + ".scrollBackward()"));
-            } else {
-                driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + ".scrollForward()"));
+            int swipes = 0, maxSwipes = Math.abs(year - current) + 3;
+            while (driver.findElements(yearItem).isEmpty() && swipes++ < maxSwipes) {
+                if (year < current) {
+                    driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + ".scrollBackward()"));
+                } else {
+                    driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + ".scrollForward()"));
+                }
             }
-        }
 
-        if (driver.findElements(yearItem).isEmpty()) {
-            String toEnd = (year < current) ? ".flingToBeginning(10)" : ".flingToEnd(10)";
-            driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + toEnd));
-            driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(
-                    scroller + ".scrollIntoView(new UiSelector().className(\"android.widget.TextView\").text(\"" + year + "\"))"
-            ));
-        }
-        click(yearItem);
-        wait.until(ExpectedConditions.textToBe(yearHeader, String.valueOf(year)));
+            if (driver.findElements(yearItem).isEmpty()) {
+                String toEnd = (year < current) ? ".flingToBeginning(10)" : ".flingToEnd(10)";
+                driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(scroller + toEnd));
+                driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(
+                        scroller + ".scrollIntoView(new UiSelector().className(\"android.widget.TextView\").text(\"" + year + "\"))"
+                ));
+            }
+            click(yearItem);
+            poller.until(ExpectedConditions.textToBe(yearHeader, String.valueOf(year)), explicitTimeout);
+        });
+    }
+
+    /**
+     * Brings a year into view with one calculated drag.
+     * Measures the row height and a reference year from the rows fully inside the year list in one snapshot,
+     * computes how far the target row is from the middle of the list and drags exactly that far.
+     *
+     * @param year the four digit year to reveal
+     * @return true if the year is visible afterwards, false if the list could not be measured
+     *         or the drag missed
+     */
+    private boolean positionYearList(int year) {
+        PageSnapshot snap = snapshot();
+        SnapshotNode list = snap.find(yearList).orElse(null);
+        if (list == null) return false;
+
+        List<SnapshotNode> rows = yearRows(list);
+        if (rows.stream().anyMatch(r -> r.getText().equals(String.valueOf(year)))) return true;
+
+        // Rows cut off at the list's edges report shortened bounds; measure only rows fully inside it
+        List<SnapshotNode> whole = rows.stream()
+                .filter(r -> r.getTop() > list.getTop() && r.getBottom() < list.getBottom())
+                .collect(Collectors.toList());
+        if (whole.size() < 2) return false;
+        SnapshotNode first = whole.get(0);
+        SnapshotNode last = whole.get(whole.size() - 1);
+        int firstYear = Integer.parseInt(first.getText());
+        int yearSpan = Integer.parseInt(last.getText()) - firstYear;
+        if (yearSpan <= 0) return false;
+        double rowHeight = (double) (last.getTop() - first.getTop()) / yearSpan;
+
+        int targetCenter = (int) Math.round(first.getCenterY() + (year - firstYear) * rowHeight);
+        int distance = targetCenter - list.getCenterY();
+        logger.debug("Year list: first whole row {} row height {} px, dragging {} px to reach {}",
+                firstYear, rowHeight, distance, year);
+
+        gestures.dragBy(list.getCenterX(), list.getCenterY(), distance, list.getHeight() * 3 / 4);
+        return poller.isMet(d -> snapshot().find(yearList)
+                .map(AndroidDatePicker::yearRows)
+                .orElse(List.of())
+                .stream()
+                .anyMatch(r -> r.getText().equals(String.valueOf(year))), shortTimeout());
+    }
+
+    /**
+     * Collects the displayed, numeric year rows of the year list ordered top to bottom.
+     *
+     * @param list the year list node
+     * @return the year rows
+     */
+    private static List<SnapshotNode> yearRows(SnapshotNode list) {
+        return list.descendants().stream()
+                .filter(n -> n.isDisplayed() && n.getText().matches("\\d{4}"))
+                .sorted(Comparator.comparingInt(SnapshotNode::getTop))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -123,37 +205,66 @@ public class AndroidDatePicker extends BasePage {
     }
 
     /**
-     * Navigates to the specified month by clicking next/previous month arrows.
+     * Navigates to the specified month.
+     * Reads the displayed month once, sends all the next/previous arrow taps as a single
+     * batched action sequence and confirms the landing month with one more read.
+     * Falls back to clicking one month at a time if the jump does not land.
      *
      * @param month the target month number (1-12)
      */
     private void goToMonth(int month) {
-        while (true) {
-            int currentMonth = getCurrentMonth();
-            if (currentMonth == month) break;
+        Tracer.run(Tracer.ACTION, "AndroidDatePicker.goToMonth", month, () -> {
+            PageSnapshot snap = snapshot();
+            int delta = month - monthOf(snap);
+            if (delta == 0) return;
 
-            int before = currentMonth;
-            click(month > currentMonth ? id("android:id/next") : id("android:id/prev"));
-            wait.until(d -> getCurrentMonth() != before);
-        }
+            SnapshotNode arrow = snap.find(delta > 0 ? nextMonth : prevMonth).orElse(null);
+            if (arrow != null) {
+                logger.debug("Jumping {} month(s) with one batched tap sequence", delta);
+                gestures.tapRepeatedly(arrow.getCenterX(), arrow.getCenterY(), Math.abs(delta), MONTH_PAGE_SETTLE);
+                if (poller.isMet(d -> monthOf(snapshot()) == month, shortTimeout())) {
+                    return;
+                }
+                logger.info("Batched month jump did not land on month {} - stepping one month at a time", month);
+            }
+
+            while (true) {
+                int currentMonth = getCurrentMonth();
+                if (currentMonth == month) break;
+
+                int before = currentMonth;
+                click(month > currentMonth ? nextMonth : prevMonth);
+                poller.until(d -> getCurrentMonth() != before, explicitTimeout);
+            }
+        });
     }
 
     /**
      * Determines the currently displayed month in the date picker.
-     * Parses the month from the first day's content description.
      *
      * @return the current month number (1-12)
      * @throws IllegalStateException if month name cannot be parsed or device language is unsupported
      */
     private int getCurrentMonth() {
-        WebElement firstOfMonth = driver.findElement(
-                io.appium.java_client.AppiumBy.androidUIAutomator(
-                        "new UiSelector().className(\"android.view.View\").descriptionStartsWith(\"01 \")"
-                )
-        );
-
-        String desc = firstOfMonth.getAttribute("content-desc");
-        String[] parts = desc == null ? new String[0] : desc.split(" ");
+        return monthOf(snapshot());
+    }
+
+    /**
+     * Determines the month shown in a snapshot of the date picker.
+     * Parses the month from the first day's content description.
+     *
+     * @param snap snapshot of the open date picker
+     * @return the month number (1-12)
+     * @throws IllegalStateException if month name cannot be parsed or device language is unsupported
+     */
+    private int monthOf(PageSnapshot snap) {
+        String desc = snap.findAll(firstOfMonth).stream()
+                .filter(SnapshotNode::isDisplayed)
+                .map(SnapshotNode::getContentDesc)
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("First day of month not found in date picker"));
+
+        String[] parts = desc.split(" ");
         if (parts.length < 3)
             throw new IllegalStateException("Unexpected date description: '" + desc + "' (UI changed?)");
 
@@ -173,9 +284,11 @@ public class AndroidDatePicker extends BasePage {
      * @param day the day number to click (1-31)
      */
     private void clickDay(int day) {
-        By dayLocator = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().text(\"" + day + "\")"
-        );
-        click(dayLocator);
+        Tracer.run(Tracer.ACTION, "AndroidDatePicker.clickDay", day, () -> {
+            By dayLocator = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().text(\"" + day + "\")"
+            );
+            click(dayLocator);
+        });
     }
 }
@@ -0,0 +1,284 @@
+package framework.components;
+
+import framework.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.SessionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scroll and swipe gestures for page objects.
+ * Caches the viewport size per session instead of asking the device on every scroll,
+ * scrolls with UiAutomator2's {@code mobile: scrollGesture} so each scroll is one command
+ * that also reports whether the content can move any further, and falls back to a W3C
+ * swipe with a before/after hierarchy comparison when that command is unavailable.
+ */
+public class GestureEngine {
+    private static final Logger logger = LoggerFactory.getLogger(GestureEngine.class);
+    private static final Map<SessionId, Dimension> VIEWPORTS = new ConcurrentHashMap<>();
+
+    /** Scroll direction, named after where the content moves into view from. */
+    public enum Direction {
+        UP, DOWN;
+
+        /**
+         * @param value "up" or "down" (case insensitive)
+         * @return the matching direction
+         * @throws IllegalArgumentException if value is not "up" or "down"
+         */
+        public static Direction parse(String value) {
+            String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ENGLISH);
+            if (normalized.equals("up")) return UP;
+            if (normalized.equals("down")) return DOWN;
+            throw new IllegalArgumentException("Direction must be 'up' or 'down'");
+        }
+    }
+
+    /**
+     * Swipe distance and velocity presets, selected with {@code gesture.profile} in config.properties.
+     */
+    public enum SwipeProfile {
+        /** Short, slow swipes for dense lists where overshooting is costly. */
+        GENTLE(0.5, 1500),
+        /** Roughly the distance of the former two-swipe scroll in a single gesture. */
+        DEFAULT(1.0, 2500),
+        /** Long, fast swipes for getting through long content quickly. */
+        FAST(1.0, 6000);
+
+        private final double percent;
+        private final int speedPxPerSec;
+
+        SwipeProfile(double percent, int speedPxPerSec) {
+            this.percent = percent;
+            this.speedPxPerSec = speedPxPerSec;
+        }
+
+        /**
+         * @return the fraction of the scroll area one gesture covers
+         */
+        public double getPercent() {
+            return percent;
+        }
+
+        /**
+         * @return the gesture speed in pixels per second
+         */
+        public int getSpeedPxPerSec() {
+            return speedPxPerSec;
+        }
+    }
+
+    private final AndroidDriver driver;
+    private final SwipeProfile profile;
+    private boolean scrollGestureSupported = true;
+
+    /**
+     * Constructs a gesture engine using the profile configured in config.properties.
+     *
+     * @param driver the Android driver to perform gestures with
+     */
+    public GestureEngine(AndroidDriver driver) {
+        this(driver, configuredProfile());
+    }
+
+    /**
+     * Constructs a gesture engine with an explicit swipe profile.
+     *
+     * @param driver the Android driver to perform gestures with
+     * @param profile the swipe distance and velocity preset
+     */
+    public GestureEngine(AndroidDriver driver, SwipeProfile profile) {
+        this.driver = driver;
+        this.profile = profile;
+    }
+
+    /**
+     * Returns the viewport size, asking the device only once per session.
+     *
+     * @return the cached window size
+     */
+    public Dimension viewport() {
+        SessionId session = driver.getSessionId();
+        if (session == null) {
+            return driver.manage().window().getSize();
+        }
+        return VIEWPORTS.computeIfAbsent(session, s -> driver.manage().window().getSize());
+    }
+
+    /**
+     * Drops the cached viewport of a session that has ended.
+     *
+     * @param session the session ID to forget
+     */
+    public static void forgetSession(SessionId session) {
+        if (session != null) {
+            VIEWPORTS.remove(session);
+        }
+    }
+
+    /**
+     * Scrolls the screen content one gesture in the given direction.
+     *
+     * @param direction where the content should come into view from
+     * @return true if the content may scroll further in this direction, false once the end is reached
+     */
+    public boolean scroll(Direction direction) {
+        Dimension size = viewport();
+        int left = size.getWidth() / 10;
+        int top = size.getHeight() / 4;
+        int width = size.getWidth() * 8 / 10;
+        int height = size.getHeight() / 2;
+
+        if (scrollGestureSupported) {
+            try {
+                Object canScrollMore = driver.executeScript("mobile: scrollGesture", Map.of(
+                        "left", left, "top", top, "width", width, "height", height,
+                        "direction", direction.name().toLowerCase(Locale.ENGLISH),
+                        "percent", profile.getPercent(),
+                        "speed", profile.getSpeedPxPerSec()));
+                boolean more = !Boolean.FALSE.equals(canScrollMore);
+                if (!more) {
+                    logger.debug("Reached end of content scrolling {}", direction);
+                }
+                return more;
+            } catch (WebDriverException e) {
+                if (isUnsupported(e)) {
+                    logger.info("mobile: scrollGesture unavailable, using W3C swipes: {}", e.getMessage());
+                    scrollGestureSupported = false;
+                } else {
+                    // e.g. a stale element or a timeout: only this scroll falls back
+                    logger.debug("mobile: scrollGesture failed, swiping instead: {}", e.getMessage());
+                }
+            }
+        }
+
+        int centerX = size.getWidth() / 2;
+        int distance = (int) (height * profile.getPercent());
+        int startY = direction == Direction.DOWN ? top + height : top + height - distance;
+        int endY = direction == Direction.DOWN ? startY - distance : top + height;
+        Duration duration = Duration.ofMillis(Math.max(100, distance * 1000L / profile.getSpeedPxPerSec()));
+
+        String before = driver.getPageSource();
+        swipe(centerX, startY, centerX, endY, duration);
+        boolean moved = !before.equals(driver.getPageSource());
+        if (!moved) {
+            logger.debug("Hierarchy unchanged after swipe {} - end of content", direction);
+        }
+        return moved;
+    }
+
+    /** True if the server does not know the command at all, as opposed to the command failing this time. */
+    private static boolean isUnsupported(WebDriverException e) {
+        String message = e.getMessage();
+        return e instanceof UnsupportedCommandException
+                || message != null && message.contains("Unknown mobile command");
+    }
+
+    /**
+     * Executes a single-finger swipe using the W3C Actions API.
+     *
+     * @param startX starting X coordinate
+     * @param startY starting Y coordinate
+     * @param endX ending X coordinate
+     * @param endY ending Y coordinate
+     * @param duration how long the finger takes to move from start to end
+     */
+    public void swipe(int startX, int startY, int endX, int endY, Duration duration) {
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence swipe = new Sequence(finger, 1);
+
+        swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
+        swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        swipe.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), endX, endY));
+        swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+
+        driver.perform(Collections.singletonList(swipe));
+    }
+
+    /**
+     * Drags content vertically by an exact distance without triggering a fling.
+     * Long distances are split into several strokes of at most maxStroke pixels,
+     * all sent as one W3C action sequence.
+     *
+     * @param x X coordinate of the strokes
+     * @param centerY Y coordinate each stroke is centered on
+     * @param distance pixels to move the content up (positive) or down (negative)
+     * @param maxStroke longest single stroke in pixels
+     */
+    public void dragBy(int x, int centerY, int distance, int maxStroke) {
+        if (distance == 0 || maxStroke <= 0) {
+            return;
+        }
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence drag = new Sequence(finger, 1);
+
+        int remaining = Math.abs(distance);
+        int sign = Integer.signum(distance);
+        while (remaining > 0) {
+            int stroke = Math.min(remaining, maxStroke);
+            int startY = centerY + sign * stroke / 2;
+            int endY = startY - sign * stroke;
+            drag.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, startY));
+            drag.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+            drag.addAction(finger.createPointerMove(Duration.ofMillis(Math.max(200, stroke * 2L)),
+                    PointerInput.Origin.viewport(), x, endY));
+            // Holding still before lifting drops the velocity to zero so the list does not fling past the target
+            drag.addAction(new Pause(finger, Duration.ofMillis(150)));
+            drag.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+            remaining -= stroke;
+        }
+
+        driver.perform(Collections.singletonList(drag));
+    }
+
+    /**
+     * Taps the same point several times in one W3C action sequence, so N taps cost one command.
+     *
+     * @param x X coordinate to tap
+     * @param y Y coordinate to tap
+     * @param count number of taps
+     * @param gap pause after each tap, e.g. to let a page transition settle
+     */
+    public void tapRepeatedly(int x, int y, int count, Duration gap) {
+        if (count <= 0) {
+            return;
+        }
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence taps = new Sequence(finger, 1);
+
+        for (int i = 0; i < count; i++) {
+            taps.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+            taps.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+            taps.addAction(new Pause(finger, Duration.ofMillis(50)));
+            taps.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+            taps.addAction(new Pause(finger, gap));
+        }
+
+        driver.perform(Collections.singletonList(taps));
+    }
+
+    private static SwipeProfile configuredProfile() {
+        String value = Config.getOrNull("gesture.profile");
+        if (value == null || value.isEmpty()) {
+            return SwipeProfile.DEFAULT;
+        }
+        try {
+            return SwipeProfile.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown gesture.profile: '" + value
+                    + "' (expected gentle, default or fast)", e);
+        }
+    }
+}
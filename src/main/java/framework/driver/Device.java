@@ -0,0 +1,49 @@
+package framework.driver;
+
+/**
+ * One entry of the device pool: an Appium server and the device it drives.
+ * Each device needs its own UiAutomator2 system port when several run on one host.
+ */
+public final class Device {
+    private final String name;
+    private final String udid;
+    private final String serverUrl;
+    private final Integer systemPort;
+
+    /**
+     * Constructs a pool entry.
+     *
+     * @param name the device name passed as the deviceName capability
+     * @param udid the adb serial of the device, or null to let Appium pick
+     * @param serverUrl the Appium server URL driving this device
+     * @param systemPort the UiAutomator2 system port, or null for the server default
+     */
+    public Device(String name, String udid, String serverUrl, Integer systemPort) {
+        this.name = name;
+        this.udid = udid;
+        this.serverUrl = serverUrl;
+        this.systemPort = systemPort;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public String getServerUrl() {
+        return serverUrl;
+    }
+
+    public Integer getSystemPort() {
+        return systemPort;
+    }
+
+    @Override
+    public String toString() {
+        return name + (udid != null ? " (" + udid + ")" : "") + " @ " + serverUrl
+                + (systemPort != null ? " systemPort=" + systemPort : "");
+    }
+}
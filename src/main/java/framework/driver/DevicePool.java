@@ -0,0 +1,135 @@
+package framework.driver;
+
+import framework.utils.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of devices that worker threads lease for the lifetime of their session.
+ * Devices are read from config.properties as {@code device.N.name}, {@code device.N.udid},
+ * {@code device.N.server.url} and {@code device.N.systemPort} (N = 0, 1, 2...).
+ * When no {@code device.0.name} is configured the pool holds the single device
+ * described by {@code deviceName} and {@code server.url}.
+ */
+public final class DevicePool {
+    private static final Logger logger = LoggerFactory.getLogger(DevicePool.class);
+    private static final DevicePool INSTANCE = new DevicePool(loadDevices());
+
+    private final List<Device> devices;
+    private final BlockingQueue<Device> available;
+    /** Devices out on lease; a device is only returned to {@link #available} if it was taken out of here. */
+    private final Set<Device> leased = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a pool over the given devices, all initially available.
+     *
+     * @param devices the devices to pool (non-empty)
+     */
+    DevicePool(List<Device> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("Device pool must contain at least one device");
+        }
+        this.devices = Collections.unmodifiableList(new ArrayList<>(devices));
+        this.available = new LinkedBlockingQueue<>(devices);
+    }
+
+    /**
+     * @return the pool configured in config.properties
+     */
+    public static DevicePool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of devices in the pool
+     */
+    public int size() {
+        return devices.size();
+    }
+
+    /**
+     * Leases a device, blocking until one is free.
+     *
+     * @param timeout maximum time to wait for a free device
+     * @return the leased device
+     * @throws IllegalStateException if no device becomes free within the timeout
+     */
+    public Device lease(Duration timeout) {
+        try {
+            Device device = available.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (device == null) {
+                throw new IllegalStateException("No device became free within " + timeout
+                        + " (pool size " + devices.size() + ")");
+            }
+            leased.add(device);
+            logger.info("Leased device {} to {}", device, Thread.currentThread().getName());
+            return device;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a device", e);
+        }
+    }
+
+    /**
+     * Leases a device only if one is free right now.
+     *
+     * @return the leased device, or null if all devices are in use
+     */
+    public Device tryLease() {
+        Device device = available.poll();
+        if (device != null) {
+            leased.add(device);
+        }
+        return device;
+    }
+
+    /**
+     * Returns a leased device to the pool. Releasing a device that is not leased, e.g. a second
+     * release of the same lease, is ignored so the device cannot be handed out twice.
+     *
+     * @param device the device to return; ignored if null
+     */
+    public void release(Device device) {
+        if (device == null) {
+            return;
+        }
+        if (!devices.contains(device)) {
+            throw new IllegalArgumentException("Device does not belong to this pool: " + device);
+        }
+        if (!leased.remove(device)) {
+            logger.warn("Device {} released but not leased - ignoring", device);
+            return;
+        }
+        logger.info("Returned device {} to pool", device);
+        available.offer(device);
+    }
+
+    private static List<Device> loadDevices() {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; Config.getOrNull("device." + i + ".name") != null; i++) {
+            String prefix = "device." + i + ".";
+            String port = Config.getOrNull(prefix + "systemPort");
+            devices.add(new Device(
+                    Config.get(prefix + "name"),
+                    Config.getOrNull(prefix + "udid"),
+                    Config.get(prefix + "server.url"),
+                    port == null ? null : Integer.valueOf(port)));
+        }
+        if (devices.isEmpty()) {
+            devices.add(new Device(Config.get("deviceName"), Config.getOrNull("udid"),
+                    Config.get("server.url"), null));
+        }
+        logger.info("Device pool configured with {} device(s)", devices.size());
+        return devices;
+    }
+}
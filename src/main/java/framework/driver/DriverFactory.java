@@ -1,12 +1,18 @@
 package framework.driver;
 
+import framework.base.ElementCache;
+import framework.components.GestureEngine;
 import framework.utils.Config;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.WebDriverException;
 
 import java.net.URL;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,31 +20,268 @@ import org.slf4j.LoggerFactory;
 public final class DriverFactory {
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
     private static final ThreadLocal<AndroidDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<String> APP_PACKAGE = new ThreadLocal<>();
+    private static final ThreadLocal<Device> LEASED_DEVICE = new ThreadLocal<>();
+    private static final Set<AndroidDriver> LIVE_SESSIONS = ConcurrentHashMap.newKeySet();
+    private static final Duration NEW_COMMAND_TIMEOUT = Duration.ofSeconds(120);
+    private static final Prewarmer<Session> PREWARM = createPrewarmer();
+
+    /** A started session and the device it runs on. */
+    static final class Session {
+        final AndroidDriver driver;
+        final Device device;
+        final String appPackage;
+
+        Session(AndroidDriver driver, Device device, String appPackage) {
+            this.driver = driver;
+            this.device = device;
+            this.appPackage = appPackage;
+        }
+    }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverFactory::quitAll, "driver-shutdown"));
+    }
 
     private DriverFactory() {
     }
 
+    /**
+     * Returns the driver bound to the current thread, creating one if needed.
+     * In session reuse mode an existing session is health-checked first and
+     * replaced with a fresh one if it no longer responds.
+     * With session.prewarm a session built in the background is handed over if there is one,
+     * and the next one starts building right away.
+     *
+     * @return the AndroidDriver for the current thread
+     */
     public static AndroidDriver getDriver() {
         AndroidDriver d = DRIVER.get();
+        if (d != null && SessionPolicy.reuseSessions() && !isHealthy(d)) {
+            logger.warn("Reused AndroidDriver session is unhealthy - starting a fresh one");
+            quitDriver();
+            d = null;
+        }
         if (d == null) {
-            d = create();
+            Session session = PREWARM == null ? null : PREWARM.take();
+            if (session != null) {
+                logger.info("Using pre-warmed session on {}", session.device);
+            } else {
+                session = create();
+            }
+            d = session.driver;
             DRIVER.set(d);
+            APP_PACKAGE.set(session.appPackage);
+            LEASED_DEVICE.set(session.device);
+            if (PREWARM != null) {
+                PREWARM.warm();
+            }
         }
         return d;
     }
 
+    /**
+     * Ends the current test's use of the driver.
+     * With session reuse enabled only the app state is reset and the session is kept
+     * for the next test on this thread; otherwise the session is quit.
+     */
+    public static void releaseDriver() {
+        AndroidDriver d = DRIVER.get();
+        if (d == null) {
+            return;
+        }
+        if (!SessionPolicy.reuseSessions()) {
+            quitDriver();
+            return;
+        }
+        try {
+            resetAppState(d);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset app state, discarding session: {}", e.getMessage());
+            quitDriver();
+        }
+    }
+
     public static void quitDriver() {
         AndroidDriver d = DRIVER.get();
         if (d != null) {
             logger.info("Quitting AndroidDriver");
-            d.quit();
+            LIVE_SESSIONS.remove(d);
+            GestureEngine.forgetSession(d.getSessionId());
+            ElementCache.forgetSession(d.getSessionId());
             DRIVER.remove();
+            APP_PACKAGE.remove();
+            try {
+                d.quit();
+            } catch (WebDriverException e) {
+                logger.debug("Session already gone while quitting: {}", e.getMessage());
+            } finally {
+                returnDevice();
+            }
+            // The device just freed lets the next session of this thread start building before it is asked for
+            if (PREWARM != null) {
+                PREWARM.warm();
+            }
+        }
+    }
+
+    /**
+     * @return the device leased by the current thread, or null if it holds no session
+     */
+    public static Device getLeasedDevice() {
+        return LEASED_DEVICE.get();
+    }
+
+    /**
+     * @return the package of the app under test in the current thread's session, or null if it holds no session
+     */
+    public static String getAppPackage() {
+        return APP_PACKAGE.get();
+    }
+
+    /**
+     * @return true if the app's stored data outlives a test and a run: new sessions are started
+     *         with noReset=true and a reused session is not reset with session.reset=clear
+     */
+    public static boolean keepsAppData() {
+        return SessionPolicy.noReset()
+                && !(SessionPolicy.reuseSessions() && SessionPolicy.reset() == SessionPolicy.Reset.CLEAR);
+    }
+
+    private static void returnDevice() {
+        Device device = LEASED_DEVICE.get();
+        LEASED_DEVICE.remove();
+        DevicePool.getInstance().release(device);
+    }
+
+    /**
+     * Resets the app under test according to {@code session.reset}:
+     * {@code restart} terminates and relaunches it, {@code clear} also wipes its data,
+     * {@code none} leaves it untouched.
+     *
+     * @param d the driver whose app should be reset
+     */
+    private static void resetAppState(AndroidDriver d) {
+        SessionPolicy.Reset reset = SessionPolicy.reset();
+        String appPackage = APP_PACKAGE.get();
+        if (reset == SessionPolicy.Reset.NONE || appPackage == null) {
+            return;
         }
+
+        logger.info("Resetting app state ({}) for {}", reset, appPackage);
+        ElementCache.forgetSession(d.getSessionId());
+        d.terminateApp(appPackage);
+        if (reset == SessionPolicy.Reset.CLEAR) {
+            d.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+        }
+        d.activateApp(appPackage);
+    }
+
+    /**
+     * Checks that a session still answers commands.
+     *
+     * @param d the driver to probe
+     * @return true if the session responded, false otherwise
+     */
+    private static boolean isHealthy(AndroidDriver d) {
+        if (d.getSessionId() == null) {
+            return false;
+        }
+        try {
+            d.getCurrentPackage();
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Session health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void quitAll() {
+        if (PREWARM != null) {
+            PREWARM.shutdown();
+        }
+        for (AndroidDriver d : LIVE_SESSIONS) {
+            try {
+                d.quit();
+            } catch (Exception e) {
+                logger.debug("Failed to quit session on shutdown: {}", e.getMessage());
+            }
+        }
+        LIVE_SESSIONS.clear();
+    }
+
+    /**
+     * Leases a device and starts a session on it, blocking until a device is free.
+     *
+     * @return the started session
+     */
+    private static Session create() {
+        Duration leaseTimeout = Duration.ofSeconds(Config.getInt("device.leaseTimeoutSec", 600));
+        return start(DevicePool.getInstance().lease(leaseTimeout), SessionProfile.configured());
     }
 
-    private static AndroidDriver create() {
-        logger.info("Creating AndroidDriver - Server: {}, Device: {}",
-                Config.get("server.url"), Config.get("deviceName"));
+    /**
+     * Starts a session in the background if a device is free right now.
+     *
+     * @return the started session, or null if every device is in use
+     */
+    private static Session createIfDeviceFree() {
+        Device device = DevicePool.getInstance().tryLease();
+        return device == null ? null : start(device, SessionProfile.configured());
+    }
+
+    /**
+     * Pre-warming is on with session.prewarm=true when sessions are not reused (a reused session
+     * is already there for the next test). At most session.prewarm.max sessions (default 1) are
+     * warming or waiting at once, each on its own free device; a test waits up to
+     * session.prewarm.waitSec (default 120) for one still starting before starting its own.
+     *
+     * @return the pre-warmer, or null when pre-warming is off
+     */
+    private static Prewarmer<Session> createPrewarmer() {
+        if (!Config.getBoolean("session.prewarm", false)) {
+            return null;
+        }
+        if (SessionPolicy.reuseSessions()) {
+            logger.info("session.prewarm ignored - session.reuse keeps the session between tests");
+            return null;
+        }
+        // A warm session left idle past the server's newCommandTimeout is gone; keep a margin
+        return new Prewarmer<>(DriverFactory::createIfDeviceFree, DriverFactory::close,
+                Math.max(1, Config.getInt("session.prewarm.max", 1)),
+                Duration.ofSeconds(Config.getInt("session.prewarm.waitSec", 120)),
+                NEW_COMMAND_TIMEOUT.minusSeconds(20));
+    }
+
+    /**
+     * Quits a session that is not bound to a thread, drops its per-session caches and returns its device to the pool.
+     *
+     * @param session the session to end
+     */
+    static void close(Session session) {
+        logger.info("Closing session on {}", session.device);
+        LIVE_SESSIONS.remove(session.driver);
+        GestureEngine.forgetSession(session.driver.getSessionId());
+        ElementCache.forgetSession(session.driver.getSessionId());
+        try {
+            session.driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Session already gone while quitting: {}", e.getMessage());
+        } finally {
+            DevicePool.getInstance().release(session.device);
+        }
+    }
+
+    /**
+     * Starts a session on a leased device. The device is returned to the pool if the session fails to start.
+     *
+     * @param device the leased device
+     * @param profile capabilities added for startup speed, see {@link SessionProfile}
+     * @return the started session
+     */
+    static Session start(Device device, SessionProfile profile) {
+        logger.info("Creating AndroidDriver - Server: {}, Device: {}, profile: {}",
+                device.getServerUrl(), device.getName(), profile);
 
         String appRelative = Config.get("app.path");
         String appAbsolute = Paths.get(appRelative).toAbsolutePath().toString();
@@ -46,15 +289,21 @@ public final class DriverFactory {
         UiAutomator2Options options = new UiAutomator2Options()
                 .setPlatformName(Config.get("platformName"))
                 .setAutomationName(Config.get("automationName"))
-                .setDeviceName(Config.get("deviceName"))
+                .setDeviceName(device.getName())
                 .setPlatformVersion(Config.get("platformVersion"))
-                .setNewCommandTimeout(Duration.ofSeconds(120))
+                .setNewCommandTimeout(NEW_COMMAND_TIMEOUT)
                 .setAutoGrantPermissions(true);
 
+        if (device.getUdid() != null) {
+            options.setUdid(device.getUdid());
+        }
+        if (device.getSystemPort() != null) {
+            options.setSystemPort(device.getSystemPort());
+        }
+
         String appPackage = Config.getOrNull("app.package");
         String appActivity = Config.getOrNull("app.activity");
-        String noReset = Config.getOrNull("noReset");
-        if (noReset != null && noReset.equalsIgnoreCase("true")) {
+        if (SessionPolicy.noReset()) {
             options.setNoReset(true);
         }
         if (appPackage != null && appActivity != null) {
@@ -62,16 +311,33 @@ public final class DriverFactory {
         } else {
             options.setApp(appAbsolute);
         }
+        profile.apply(options);
 
+        AndroidDriver drv = null;
         try {
-            AndroidDriver drv = new AndroidDriver(new URL(Config.get("server.url")), options);
+            URL serverUrl = new URL(device.getServerUrl());
+            boolean latency = Config.getBoolean("driver.latency", false);
+            drv = latency || Config.getBoolean("trace.enabled", false)
+                    ? new AndroidDriver(new TimedCommandExecutor(serverUrl, latency), options)
+                    : new AndroidDriver(serverUrl, options);
+            LIVE_SESSIONS.add(drv);
             drv.manage().timeouts().implicitlyWait(Duration.ZERO);
-            logger.info("AndroidDriver created successfully");
-            return drv;
+            Session session = new Session(drv, device, appPackage != null ? appPackage : drv.getCurrentPackage());
+            logger.info("AndroidDriver created successfully on {}", device);
+            return session;
         } catch (Exception e) {
             logger.error("Failed to create AndroidDriver", e);
+            if (drv != null) {
+                LIVE_SESSIONS.remove(drv);
+                try {
+                    drv.quit();
+                } catch (WebDriverException ignored) {
+                    // the session is being abandoned anyway
+                }
+            }
+            DevicePool.getInstance().release(device);
             throw new RuntimeException("Failed to start AndroidDriver. Is Appium running? " +
-                    "Server: " + Config.get("server.url") + ", app: " + appAbsolute, e);
+                    "Server: " + device.getServerUrl() + ", app: " + appAbsolute, e);
         }
     }
 }
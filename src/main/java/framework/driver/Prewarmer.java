@@ -0,0 +1,225 @@
+package framework.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the next resource for a thread in the background, so the thread finds it ready when it asks.
+ * Each thread has at most one warm resource, and at most maxWarm are being built or waiting at any time
+ * across all threads; a warm-up that would exceed that is not started.
+ * A warm resource that failed to build, is not ready within the wait timeout, or has waited longer
+ * than maxAge is discarded, and the caller builds one itself as if there were no warm-up.
+ *
+ * @param <T> the resource type, e.g. a driver session
+ */
+public final class Prewarmer<T> {
+    private static final Logger logger = LoggerFactory.getLogger(Prewarmer.class);
+
+    private final Supplier<T> builder;
+    private final Consumer<T> discarder;
+    private final Semaphore slots;
+    private final Duration waitTimeout;
+    private final Duration maxAge;
+    private final ExecutorService executor;
+    private final ThreadLocal<Warm> pending = new ThreadLocal<>();
+    private final Set<Warm> all = ConcurrentHashMap.newKeySet();
+
+    /** One warm-up. Guarded by its own monitor. */
+    private final class Warm {
+        private T value;
+        private boolean done;
+        private boolean abandoned;
+        private long readyNanos;
+
+        /** Called by the builder thread; returns a value nobody wants any more so the caller discards it. */
+        synchronized T complete(T built) {
+            done = true;
+            readyNanos = System.nanoTime();
+            notifyAll();
+            if (abandoned) {
+                return built;
+            }
+            value = built;
+            return null;
+        }
+
+        /** Waits for the warm-up; returns null after abandoning it if it is not ready in time. */
+        synchronized T await(long timeoutNanos) throws InterruptedException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (!done) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    abandoned = true;
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+            T v = value;
+            value = null;
+            abandoned = true;
+            return v;
+        }
+
+        /** Gives up the warm-up; returns its value if it was already built, for the caller to discard. */
+        synchronized T abandon() {
+            abandoned = true;
+            T v = value;
+            value = null;
+            return v;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        /** True once the builder finished without a value to hand over, e.g. it found no free device. */
+        synchronized boolean isEmpty() {
+            return done && value == null;
+        }
+    }
+
+    /**
+     * @param builder builds a resource; may return null when nothing can be built right now (e.g. no free device)
+     * @param discarder releases a warm resource that will not be used
+     * @param maxWarm how many resources may be warming or warm at once across all threads
+     * @param waitTimeout how long {@link #take()} waits for a warm-up that is still running
+     * @param maxAge how long a built resource stays usable
+     */
+    public Prewarmer(Supplier<T> builder, Consumer<T> discarder, int maxWarm, Duration waitTimeout, Duration maxAge) {
+        this.builder = builder;
+        this.discarder = discarder;
+        this.slots = new Semaphore(maxWarm);
+        this.waitTimeout = waitTimeout;
+        this.maxAge = maxAge;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "prewarm-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts building a resource for the current thread unless it already has one warming or warm,
+     * or the maxWarm limit is reached. An earlier warm-up that came back empty (its slot is already
+     * free) does not count, so the thread can try again once, say, a device has been returned.
+     *
+     * @return true if a warm-up was started
+     */
+    public boolean warm() {
+        Warm current = pending.get();
+        if (current != null) {
+            if (!current.isEmpty()) {
+                return false;
+            }
+            pending.remove();
+        }
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        Warm warm = new Warm();
+        pending.set(warm);
+        all.add(warm);
+        executor.execute(() -> build(warm));
+        return true;
+    }
+
+    /**
+     * Hands over the current thread's warm resource, waiting for it if it is still being built.
+     *
+     * @return the warm resource, or null if there is none or it failed, timed out or expired
+     */
+    public T take() {
+        Warm warm = pending.get();
+        if (warm == null) {
+            return null;
+        }
+        pending.remove();
+        T value;
+        try {
+            value = warm.await(waitTimeout.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            giveUp(warm);
+            return null;
+        }
+        if (value == null) {
+            if (warm.isDone()) {
+                release(warm);
+            } else {
+                // Still building: the builder discards the result and frees the slot when it finishes
+                logger.info("No warm resource ready within {} - building one now", waitTimeout);
+            }
+            return null;
+        }
+        long age = System.nanoTime() - warm.readyNanos;
+        if (age > maxAge.toNanos()) {
+            logger.info("Warm resource waited {} s, longer than {} - discarding it", age / 1_000_000_000, maxAge);
+            dispose(warm, value);
+            return null;
+        }
+        release(warm);
+        return value;
+    }
+
+    /**
+     * Discards every warm resource and stops building new ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        for (Warm warm : all) {
+            giveUp(warm);
+        }
+    }
+
+    private void build(Warm warm) {
+        T built = null;
+        try {
+            built = builder.get();
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up failed, will build on demand instead: {}", e.getMessage());
+        }
+        T unwanted = warm.complete(built);
+        if (unwanted != null || built == null) {
+            // Nothing to hand over; free the slot now rather than when the thread comes asking
+            dispose(warm, unwanted);
+        }
+    }
+
+    /** Abandons a warm-up; one still building is discarded by its builder when it finishes. */
+    private void giveUp(Warm warm) {
+        T value = warm.abandon();
+        if (warm.isDone()) {
+            dispose(warm, value);
+        }
+    }
+
+    private void dispose(Warm warm, T value) {
+        if (value != null) {
+            try {
+                discarder.accept(value);
+            } catch (RuntimeException e) {
+                logger.debug("Failed to discard warm resource: {}", e.getMessage());
+            }
+        }
+        release(warm);
+    }
+
+    /** Frees the warm-up's slot exactly once. */
+    private void release(Warm warm) {
+        if (all.remove(warm)) {
+            slots.release();
+        }
+    }
+}
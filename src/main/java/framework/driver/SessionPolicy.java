@@ -0,0 +1,56 @@
+package framework.driver;
+
+import framework.utils.Config;
+
+import java.util.Locale;
+
+/**
+ * Session lifecycle settings read from config.properties.
+ * Controls whether one Appium session is kept per worker thread and how the app
+ * is reset between tests when it is.
+ */
+final class SessionPolicy {
+
+    /** How the app under test is reset between tests on a reused session. */
+    enum Reset {
+        /** Leave the app exactly as the previous test left it. */
+        NONE,
+        /** Terminate and relaunch the app. */
+        RESTART,
+        /** Terminate the app, clear its data, then relaunch it. */
+        CLEAR
+    }
+
+    private SessionPolicy() {}
+
+    /**
+     * @return true if sessions should outlive a single test ({@code session.reuse}, default false)
+     */
+    static boolean reuseSessions() {
+        return Config.getBoolean("session.reuse", false);
+    }
+
+    /**
+     * @return true if new sessions keep the app's data ({@code noReset}, default false)
+     */
+    static boolean noReset() {
+        return Config.getBoolean("noReset", false);
+    }
+
+    /**
+     * @return the configured reset policy ({@code session.reset}, default restart)
+     * @throws IllegalArgumentException if the configured value is not a known policy
+     */
+    static Reset reset() {
+        String value = Config.getOrNull("session.reset");
+        if (value == null || value.isEmpty()) {
+            return Reset.RESTART;
+        }
+        try {
+            return Reset.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown session.reset policy: '" + value
+                    + "' (expected none, restart or clear)", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package framework.driver;
+
+import framework.utils.Config;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import java.util.Locale;
+
+/**
+ * Named sets of capabilities that trade setup safety for session startup and lookup speed,
+ * selected with {@code session.profile} in config.properties.
+ */
+public enum SessionProfile {
+    /** Appium's defaults: reinstall and initialize on every session, wait up to 10 s for the UI to go idle. */
+    DEFAULT,
+    /**
+     * Skips reinstalling the UiAutomator2 server and re-initializing the device (both assume a device
+     * an earlier session already set up), disables window animations, leaves views marked unimportant
+     * for accessibility out of the hierarchy and shortens the wait for the UI to go idle before each
+     * command to {@code session.waitForIdleMs} (default 500).
+     */
+    FAST;
+
+    /**
+     * @return the profile named by session.profile (default or fast), DEFAULT when unset
+     * @throws IllegalArgumentException if the configured value is not a known profile
+     */
+    public static SessionProfile configured() {
+        String value = Config.getOrNull("session.profile");
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown session.profile: '" + value
+                    + "' (expected default or fast)", e);
+        }
+    }
+
+    /**
+     * Adds the profile's capabilities to session options.
+     *
+     * @param options the options to amend
+     * @return the same options
+     */
+    public UiAutomator2Options apply(UiAutomator2Options options) {
+        if (this == FAST) {
+            options.setSkipServerInstallation(true)
+                    .setSkipDeviceInitialization(true)
+                    .setDisableWindowAnimation(true);
+            // UiAutomator2 settings, applied when the session starts
+            options.setCapability("appium:settings[ignoreUnimportantViews]", true);
+            options.setCapability("appium:settings[waitForIdleTimeout]", Config.getInt("session.waitForIdleMs", 500));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,54 @@
+package framework.driver;
+
+import framework.metrics.CommandLatency;
+import framework.trace.Tracer;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * Command executor that times every command sent to the Appium server and records it in {@link CommandLatency},
+ * and traces each command as a span of the current test when it is traced (see {@link Tracer}).
+ * {@code mobile:} scripts are recorded under their own names, since one executeScript type
+ * covers everything from a scroll gesture to clearing app data.
+ */
+final class TimedCommandExecutor extends AppiumCommandExecutor {
+    private final boolean recordLatency;
+
+    /**
+     * @param serverUrl the Appium server URL
+     * @param recordLatency false to only trace commands, without recording their latency
+     */
+    TimedCommandExecutor(URL serverUrl, boolean recordLatency) {
+        super(MobileCommand.commandRepository, serverUrl);
+        this.recordLatency = recordLatency;
+    }
+
+    @Override
+    public Response execute(Command command) {
+        String name = nameOf(command);
+        long start = System.nanoTime();
+        try {
+            return Tracer.call(Tracer.COMMAND, name, () -> super.execute(command));
+        } finally {
+            if (recordLatency) {
+                CommandLatency.record(name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static String nameOf(Command command) {
+        String name = command.getName();
+        if (DriverCommand.EXECUTE_SCRIPT.equals(name)) {
+            Object script = command.getParameters().get("script");
+            if (script instanceof String && ((String) script).startsWith("mobile:")) {
+                return "executeScript(" + script + ")";
+            }
+        }
+        return name;
+    }
+}
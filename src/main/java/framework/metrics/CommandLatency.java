@@ -0,0 +1,119 @@
+package framework.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects driver command latencies per command type, for the current test and for the whole run.
+ * Tests on one thread share the per-test histograms; the run histograms are shared by all threads.
+ * The run summary is logged and written to a file when the JVM exits.
+ */
+public final class CommandLatency {
+    private static final Logger logger = LoggerFactory.getLogger(CommandLatency.class);
+    private static final Path REPORT = Paths.get("build", "reports", "command-latency.txt");
+
+    private static final Map<String, LatencyHistogram> RUN = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, LatencyHistogram>> TEST = new ThreadLocal<>();
+    private static final ThreadLocal<String> TEST_NAME = new ThreadLocal<>();
+    private static final AtomicBoolean REPORT_SCHEDULED = new AtomicBoolean();
+
+    private CommandLatency() {}
+
+    /**
+     * Records one command execution.
+     *
+     * @param command the command type, e.g. findElement or executeScript
+     * @param nanos how long the command took
+     */
+    public static void record(String command, long nanos) {
+        if (REPORT_SCHEDULED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(CommandLatency::writeRunReport, "latency-report"));
+        }
+        RUN.computeIfAbsent(command, c -> new LatencyHistogram()).record(nanos);
+        Map<String, LatencyHistogram> test = TEST.get();
+        if (test != null) {
+            test.computeIfAbsent(command, c -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Starts collecting a per-test histogram on the current thread.
+     *
+     * @param testName name shown in the per-test summary
+     */
+    public static void startTest(String testName) {
+        TEST.set(new HashMap<>());
+        TEST_NAME.set(testName);
+    }
+
+    /**
+     * Stops collecting for the current thread's test and logs its summary, if it issued any commands.
+     */
+    public static void endTest() {
+        Map<String, LatencyHistogram> test = TEST.get();
+        String name = TEST_NAME.get();
+        TEST.remove();
+        TEST_NAME.remove();
+        if (test != null && !test.isEmpty()) {
+            logger.info("Driver command latency for {}:\n{}", name, summary(test));
+        }
+    }
+
+    /**
+     * @return the run-wide summary table
+     */
+    public static String runSummary() {
+        return summary(RUN);
+    }
+
+    /**
+     * Formats histograms as a table sorted by total time spent, slowest first.
+     *
+     * @param histograms histograms keyed by command type
+     * @return the summary with call count, total, p50, p95, p99 and max per command
+     */
+    public static String summary(Map<String, LatencyHistogram> histograms) {
+        List<Map.Entry<String, LatencyHistogram>> rows = new ArrayList<>(histograms.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalMicros())
+                .reversed());
+
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-40s %7s %10s %9s %9s %9s %9s%n",
+                "command", "calls", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, LatencyHistogram> row : rows) {
+            LatencyHistogram h = row.getValue();
+            out.append(String.format(Locale.ROOT, "%-40s %7d %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.getKey(), h.getCount(), h.getTotalMicros() / 1000.0,
+                    h.percentileMicros(0.50) / 1000.0, h.percentileMicros(0.95) / 1000.0,
+                    h.percentileMicros(0.99) / 1000.0, h.getMaxMicros() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    private static void writeRunReport() {
+        if (RUN.isEmpty()) {
+            return;
+        }
+        String summary = runSummary();
+        logger.info("Driver command latency for the run:\n{}", summary);
+        try {
+            Files.createDirectories(REPORT.getParent());
+            Files.write(REPORT, summary.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to write {}: {}", REPORT, e.getMessage());
+        }
+    }
+}
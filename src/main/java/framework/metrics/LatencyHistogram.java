@@ -0,0 +1,117 @@
+package framework.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ * Each power of two of microseconds is split into 8 linear sub-buckets, so any recorded
+ * value is reported within 12.5% of its true value while the whole range from 1 microsecond to
+ * over an hour fits in a few hundred counters. Recording is two atomic increments,
+ * cheap enough to leave on for every driver command.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int OCTAVES = 33;
+    private static final int BUCKETS = (OCTAVES + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one measurement.
+     *
+     * @param nanos the measured duration in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucketOf(micros));
+        total.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Adds all measurements of another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        total.addAndGet(other.total.get());
+        sumMicros.addAndGet(other.sumMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    /**
+     * @return number of recorded measurements
+     */
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * @return sum of all measurements in microseconds
+     */
+    public long getTotalMicros() {
+        return sumMicros.get();
+    }
+
+    /**
+     * @return the largest measurement in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Returns the value below which the given fraction of measurements fall.
+     *
+     * @param quantile between 0 and 1, e.g. 0.95 for p95
+     * @return the upper bound of the bucket holding that quantile in microseconds, capped at the maximum; 0 if empty
+     */
+    public long percentileMicros(double quantile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int octave = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        if (octave > OCTAVES) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (octave - 1)) & (SUB_BUCKETS - 1);
+        return octave * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        int octave = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (octave == 0) {
+            return sub;
+        }
+        return ((long) (SUB_BUCKETS + sub + 1) << (octave - 1)) - 1;
+    }
+}
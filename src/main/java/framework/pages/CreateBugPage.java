@@ -1,7 +1,7 @@
 package framework.pages;
 
-import framework.base.BasePage;
 import framework.components.AndroidDatePicker;
+import framework.trace.Tracer;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
@@ -12,7 +12,7 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 
 /** Page object for the "Create Bug" screen. */
-public class CreateBugPage extends BasePage {
+public class CreateBugPage extends FormPage<CreateBugPage> {
     private static final Logger logger = LoggerFactory.getLogger(CreateBugPage.class);
 
     private final By screenRoot;
@@ -73,16 +73,18 @@ public class CreateBugPage extends BasePage {
      */
     public CreateBugPage enterBugId(String value) {
         logger.debug("Entering bug ID: {}", value);
-        scrollIfNeeded(bugId);
         String normalized = normalize(value);
+        return fill("enterBugId", bugId, () -> writeBugId(normalized));
+    }
+
+    private void writeBugId(String normalized) {
 
         // Wait for element
         WebElement element = waitVisible(bugId);
 
-        // Click to focus
+        // Click to focus and let the keyboard finish opening
         element.click();
-
-        try { Thread.sleep(300); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        waitForUiIdle();
 
         element.clear();
 
@@ -90,17 +92,13 @@ public class CreateBugPage extends BasePage {
         driver.executeScript("mobile: type",
                 java.util.Map.of("elementId", ((org.openqa.selenium.remote.RemoteWebElement) element).getId(),
                         "text", normalized));
-
-        try { Thread.sleep(300); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
-
+        waitForUiIdle();
 
         try {
             driver.hideKeyboard();
         } catch (Exception e) {
             logger.debug("Keyboard already hidden or error dismissing: {}", e.getMessage());
         }
-
-        return this;
     }
 
     /**
@@ -109,9 +107,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage pickDate(String date) {
-        scrollIfNeeded(bugDate);
-        datePicker.pick(bugDate, date);
-        return this;
+        return fill("pickDate", bugDate, () -> datePicker.pick(bugDate, date));
     }
 
     /**
@@ -120,9 +116,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage enterTitle(String value) {
-        scrollIfNeeded(bugTitle);
-        type(bugTitle, normalize(value));
-        return this;
+        return fill("enterTitle", bugTitle, () -> type(bugTitle, normalize(value)));
     }
 
     /**
@@ -131,9 +125,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage enterSteps(String value) {
-        scrollIfNeeded(bugSteps);
-        type(bugSteps, normalize(value));
-        return this;
+        return fill("enterSteps", bugSteps, () -> type(bugSteps, normalize(value)));
     }
 
     /**
@@ -142,9 +134,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage enterExpected(String value) {
-        scrollIfNeeded(bugExpectedResult);
-        type(bugExpectedResult, normalize(value));
-        return this;
+        return fill("enterExpected", bugExpectedResult, () -> type(bugExpectedResult, normalize(value)));
     }
 
     /**
@@ -153,9 +143,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage enterActual(String value) {
-        scrollIfNeeded(bugActualResult);
-        type(bugActualResult, normalize(value));
-        return this;
+        return fill("enterActual", bugActualResult, () -> type(bugActualResult, normalize(value)));
     }
 
     /**
@@ -164,8 +152,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage setStatus(String value) {
-        scrollIfNeeded(bugStatus);
-        return selectDropdownOption(bugStatus, normalize(value), "Status");
+        return fill("setStatus", bugStatus, () -> selectDropdownOption(bugStatus, normalize(value), "Status"));
     }
 
     /**
@@ -174,8 +161,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage setSeverity(String value) {
-        scrollIfNeeded(bugSeverity);
-        return selectDropdownOption(bugSeverity, normalize(value), "Severity");
+        return fill("setSeverity", bugSeverity, () -> selectDropdownOption(bugSeverity, normalize(value), "Severity"));
     }
 
     /**
@@ -184,8 +170,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage setPriority(String value) {
-        scrollIfNeeded(bugPriority);
-        return selectDropdownOption(bugPriority, normalize(value), "Priority");
+        return fill("setPriority", bugPriority, () -> selectDropdownOption(bugPriority, normalize(value), "Priority"));
     }
 
     /**
@@ -194,9 +179,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage setDetectedBy(String value) {
-        scrollIfNeeded(bugDetectedBy);
-        type(bugDetectedBy, normalize(value));
-        return this;
+        return fill("setDetectedBy", bugDetectedBy, () -> type(bugDetectedBy, normalize(value)));
     }
 
     /**
@@ -205,9 +188,7 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage setFixedBy(String value) {
-        scrollIfNeeded(bugFixedBy);
-        type(bugFixedBy, normalize(value));
-        return this;
+        return fill("setFixedBy", bugFixedBy, () -> type(bugFixedBy, normalize(value)));
     }
 
     /**
@@ -216,10 +197,15 @@ public class CreateBugPage extends BasePage {
      * @return this CreateBugPage instance
      */
     public CreateBugPage pickDateClosed(String date) {
-        scrollIfNeeded(bugDateClosed);
-        datePicker.pick(bugDateClosed, date);
-        return this;
+        return fill("pickDateClosed", bugDateClosed, () -> datePicker.pick(bugDateClosed, date));
+    }
+
+    /** The Create Bug form is short enough that one scroll either way reaches any field. */
+    @Override
+    protected void bringIntoView(By field) {
+        scrollIfNeeded(field);
     }
+
     private void scrollIfNeeded(By element) {
         if(!isVisible(element)) {
             scroll("down");
@@ -231,11 +217,16 @@ public class CreateBugPage extends BasePage {
 
     /**
      * Submits the bug creation form.
+     * In ordered fill mode, first writes all recorded fields top to bottom.
      */
     public void submit() {
-        logger.info("Submitting bug creation form");
-        scrollIfNeeded(addBugButton);
-        click(addBugButton);
+        Tracer.run(Tracer.ACTION, "CreateBugPage.submit", () -> {
+            logger.info("Submitting bug creation form");
+            writePendingFields();
+            scrollIfNeeded(addBugButton);
+            click(addBugButton);
+            forgetElements();
+        });
     }
 
     /**
@@ -1,7 +1,7 @@
 package framework.pages;
 
-import framework.base.BasePage;
 import framework.components.AndroidDatePicker;
+import framework.trace.Tracer;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
@@ -15,7 +15,7 @@ import java.time.Duration;
  * Page object for the "Edit Bug" screen.
  * Provides methods to modify existing bug details and save or cancel changes.
  */
-public class EditBugPage extends BasePage {
+public class EditBugPage extends FormPage<EditBugPage> {
     private static final Logger logger = LoggerFactory.getLogger(EditBugPage.class);
 
     private final By screenRoot;
@@ -79,9 +79,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage pickDate(String date) {
-        scrollIntoViewIfNeeded(bugDate);
-        datePicker.pick(bugDate, date);
-        return this;
+        return fill("pickDate", bugDate, () -> datePicker.pick(bugDate, date));
     }
 
     /**
@@ -91,9 +89,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage enterTitle(String value) {
-        scrollIntoViewIfNeeded(bugTitle);
-        type(bugTitle, normalize(value));
-        return this;
+        return fill("enterTitle", bugTitle, () -> type(bugTitle, normalize(value)));
     }
 
     /**
@@ -103,9 +99,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage enterSteps(String value) {
-        scrollIntoViewIfNeeded(bugSteps);
-        type(bugSteps, normalize(value));
-        return this;
+        return fill("enterSteps", bugSteps, () -> type(bugSteps, normalize(value)));
     }
 
     /**
@@ -115,9 +109,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage enterExpected(String value) {
-        scrollIntoViewIfNeeded(bugExpectedResult);
-        type(bugExpectedResult, normalize(value));
-        return this;
+        return fill("enterExpected", bugExpectedResult, () -> type(bugExpectedResult, normalize(value)));
     }
 
     /**
@@ -127,9 +119,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage enterActual(String value) {
-        scrollIntoViewIfNeeded(bugActualResult);
-        type(bugActualResult, normalize(value));
-        return this;
+        return fill("enterActual", bugActualResult, () -> type(bugActualResult, normalize(value)));
     }
 
     /**
@@ -139,8 +129,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage setStatus(String value) {
-        scrollIntoViewIfNeeded(bugStatus);
-        return selectDropdownOption(bugStatus, normalize(value), "Status");
+        return fill("setStatus", bugStatus, () -> selectDropdownOption(bugStatus, normalize(value), "Status"));
     }
 
     /**
@@ -150,8 +139,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage setSeverity(String value) {
-        scrollIntoViewIfNeeded(bugSeverity);
-        return selectDropdownOption(bugSeverity, normalize(value), "Severity");
+        return fill("setSeverity", bugSeverity, () -> selectDropdownOption(bugSeverity, normalize(value), "Severity"));
     }
 
     /**
@@ -161,8 +149,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage setPriority(String value) {
-        scrollIntoViewIfNeeded(bugPriority);
-        return selectDropdownOption(bugPriority, normalize(value), "Priority");
+        return fill("setPriority", bugPriority, () -> selectDropdownOption(bugPriority, normalize(value), "Priority"));
     }
 
     /**
@@ -172,9 +159,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage setDetectedBy(String value) {
-        scrollIntoViewIfNeeded(bugDetectedBy);
-        type(bugDetectedBy, normalize(value));
-        return this;
+        return fill("setDetectedBy", bugDetectedBy, () -> type(bugDetectedBy, normalize(value)));
     }
 
     /**
@@ -184,9 +169,7 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage setFixedBy(String value) {
-        scrollIntoViewIfNeeded(bugFixedBy);
-        type(bugFixedBy, normalize(value));
-        return this;
+        return fill("setFixedBy", bugFixedBy, () -> type(bugFixedBy, normalize(value)));
     }
 
     /**
@@ -196,26 +179,33 @@ public class EditBugPage extends BasePage {
      * @return this EditBugPage instance for method chaining
      */
     public EditBugPage pickDateClosed(String date) {
-        scrollIntoViewIfNeeded(bugDateClosed);
-        datePicker.pick(bugDateClosed, date);
-        return this;
+        return fill("pickDateClosed", bugDateClosed, () -> datePicker.pick(bugDateClosed, date));
     }
 
     /**
      * Saves all changes made to the bug.
+     * In ordered fill mode, first writes all recorded fields top to bottom.
      */
     public void save() {
-        logger.info("Saving bug changes");
-        scrollIntoViewIfNeeded(saveChanges);
-        click(saveChanges);
+        Tracer.run(Tracer.ACTION, "EditBugPage.save", () -> {
+            logger.info("Saving bug changes");
+            writePendingFields();
+            scrollIntoViewIfNeeded(saveChanges);
+            click(saveChanges);
+            forgetElements();
+        });
     }
     /**
      * Cancels editing and discards all changes.
      */
     public void cancel() {
-        logger.info("Canceling bug edit");
-        scrollIntoViewIfNeeded(cancelEditing);
-        click(cancelEditing);
+        Tracer.run(Tracer.ACTION, "EditBugPage.cancel", () -> {
+            logger.info("Canceling bug edit");
+            discardPendingFields();
+            scrollIntoViewIfNeeded(cancelEditing);
+            click(cancelEditing);
+            forgetElements();
+        });
     }
 
     /**
@@ -0,0 +1,108 @@
+package framework.pages;
+
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.SnapshotNode;
+import framework.utils.Config;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Deferred form input for the Create Bug and Edit Bug pages.
+ * In ordered mode the fluent setters only record what to write; on submit the plan
+ * writes every recorded field in on-screen order, top to bottom, scrolling only when
+ * the next field is off screen. Field positions come from page snapshots, so the
+ * order follows the real layout rather than the order the setters were called in.
+ */
+final class FormFillPlan {
+    private static final Logger logger = LoggerFactory.getLogger(FormFillPlan.class);
+    private static final int MAX_SCROLLS = 20;
+
+    private final Map<By, Runnable> pending = new LinkedHashMap<>();
+
+    /**
+     * @return true if {@code form.fillMode} is set to {@code ordered} in config.properties
+     */
+    static boolean orderedModeEnabled() {
+        String mode = Config.getOrNull("form.fillMode");
+        return mode != null && mode.equalsIgnoreCase("ordered");
+    }
+
+    /**
+     * Records a field write, replacing any earlier write to the same field.
+     *
+     * @param field the field's locator
+     * @param write the action that fills the field once it is on screen
+     */
+    void record(By field, Runnable write) {
+        pending.remove(field);
+        pending.put(field, write);
+    }
+
+    /**
+     * Discards all recorded writes.
+     */
+    void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Writes all recorded fields in on-screen order.
+     * Scrolls to the top of the form first, then makes one pass down: each round takes a snapshot,
+     * writes the topmost pending field that is on screen and repeats; when none is on screen it
+     * scrolls down, until the bottom of the form.
+     *
+     * @param snapshot captures the current screen
+     * @param scroll scrolls one gesture in the given direction ("up"/"down") and reports if it can go further
+     * @throws AssertionError if some fields are not found anywhere on the form
+     */
+    void execute(Supplier<PageSnapshot> snapshot, Predicate<String> scroll) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        logger.info("Filling {} field(s) in on-screen order", pending.size());
+
+        for (int i = 0; i < MAX_SCROLLS && scroll.test("up"); i++) {
+            logger.debug("Scrolling to the top of the form ({})", i + 1);
+        }
+        int scrolls = 0;
+        boolean atBottom = false;
+        while (!pending.isEmpty()) {
+            PageSnapshot snap = snapshot.get();
+            Optional<By> next = topmostVisible(snap);
+            if (next.isPresent()) {
+                By field = next.get();
+                logger.debug("Writing field {}", field);
+                pending.remove(field).run();
+                continue;
+            }
+            if (atBottom || scrolls++ >= MAX_SCROLLS) {
+                throw new AssertionError("Form fields not found on screen: " + pending.keySet());
+            }
+            // The last scroll may still have brought fields into view, so one more round follows it
+            atBottom = !scroll.test("down");
+        }
+    }
+
+    private Optional<By> topmostVisible(PageSnapshot snap) {
+        List<Map.Entry<By, Integer>> visible = new ArrayList<>();
+        for (By field : pending.keySet()) {
+            snap.findAll(field).stream()
+                    .filter(SnapshotNode::isDisplayed)
+                    .findFirst()
+                    .ifPresent(node -> visible.add(Map.entry(field, node.getTop())));
+        }
+        return visible.stream()
+                .min(Comparator.comparingInt(Map.Entry::getValue))
+                .map(Map.Entry::getKey);
+    }
+}
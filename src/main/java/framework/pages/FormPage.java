@@ -0,0 +1,80 @@
+package framework.pages;
+
+import framework.base.BasePage;
+import framework.trace.Tracer;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+
+/**
+ * Base class for the bug form pages (Create Bug, Edit Bug).
+ * Field setters go through {@link #fill}, which writes the field right away or, when
+ * {@code form.fillMode=ordered}, records it for {@link #writePendingFields()} to write in
+ * on-screen order on submit (see {@link FormFillPlan}).
+ *
+ * @param <P> the concrete page type, returned by the fluent setters
+ */
+abstract class FormPage<P extends FormPage<P>> extends BasePage {
+    private final FormFillPlan fillPlan = new FormFillPlan();
+    private final boolean orderedFill = FormFillPlan.orderedModeEnabled();
+
+    /**
+     * @param driver the Android driver instance
+     * @param explicitTimeout maximum wait time for page elements
+     */
+    protected FormPage(AndroidDriver driver, Duration explicitTimeout) {
+        super(driver, explicitTimeout);
+    }
+
+    /**
+     * Brings a field on screen before it is written in immediate mode.
+     * Defaults to {@link #scrollIntoViewIfNeeded(By)}.
+     *
+     * @param field the field locator
+     */
+    protected void bringIntoView(By field) {
+        scrollIntoViewIfNeeded(field);
+    }
+
+    /**
+     * Writes a field now, or records it for submit when form.fillMode=ordered.
+     * Either way the write is traced as the named action when it runs.
+     *
+     * @param action the public method the write belongs to, used as the span name
+     * @param field the field locator
+     * @param write the action that fills the field
+     * @return this page for method chaining
+     */
+    protected P fill(String action, By field, Runnable write) {
+        String span = getClass().getSimpleName() + "." + action;
+        if (orderedFill) {
+            fillPlan.record(field, () -> Tracer.run(Tracer.ACTION, span, write));
+        } else {
+            Tracer.run(Tracer.ACTION, span, () -> {
+                bringIntoView(field);
+                write.run();
+            });
+        }
+        return self();
+    }
+
+    /**
+     * Writes all fields recorded in ordered mode, top to bottom. Does nothing in immediate mode.
+     */
+    protected void writePendingFields() {
+        fillPlan.execute(this::snapshot, this::scroll);
+    }
+
+    /**
+     * Discards the fields recorded in ordered mode, e.g. when the form is cancelled.
+     */
+    protected void discardPendingFields() {
+        fillPlan.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private P self() {
+        return (P) this;
+    }
+}
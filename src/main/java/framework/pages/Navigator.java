@@ -0,0 +1,283 @@
+package framework.pages;
+
+import framework.base.BasePage;
+import framework.driver.DriverFactory;
+import framework.snapshot.SnapshotNode;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Moves the app between screens along the shortest route.
+ * The screen graph is declared once below: every screen has the Home / Create Bug / View Bugs
+ * navigation bar and the Edit Bug screen can be cancelled back to View Bugs. Edit Bug is only
+ * left, never entered, here: which bug it shows is up to the test, see {@link ViewBugsPage#editBugById}.
+ * navigateTo() identifies the current screen from one snapshot and follows the route with the
+ * fewest transitions, confirming each hop.
+ */
+public class Navigator extends BasePage {
+    private static final Logger logger = LoggerFactory.getLogger(Navigator.class);
+    private static final int MAX_REPLANS = 2;
+
+    private static final Set<String> DIALOG_IDS = Set.of("android:id/alertTitle", "android:id/message",
+            "android:id/button1", "android:id/parentPanel", "android:id/select_dialog_listview");
+    private static final By CANCEL_EDITING =
+            AppiumBy.androidUIAutomator("new UiSelector().text(\"Cancel Editing\")");
+
+    /** One edge of the screen graph: the action that moves the app from one screen to another. */
+    private static final class Transition {
+        final Screen to;
+        final String label;
+        final Consumer<Navigator> action;
+
+        Transition(Screen to, String label, Consumer<Navigator> action) {
+            this.to = to;
+            this.label = label;
+            this.action = action;
+        }
+    }
+
+    private static final Map<Screen, List<Transition>> GRAPH = new EnumMap<>(Screen.class);
+
+    static {
+        for (Screen from : List.of(Screen.HOME, Screen.VIEW_BUGS, Screen.CREATE_BUG, Screen.EDIT_BUG)) {
+            if (from != Screen.HOME) edge(from, Screen.HOME, "Home", BasePage::clickHome);
+            if (from != Screen.VIEW_BUGS) edge(from, Screen.VIEW_BUGS, "View Bugs", BasePage::clickViewBugs);
+            if (from != Screen.CREATE_BUG) edge(from, Screen.CREATE_BUG, "Create Bug", BasePage::clickCreateBug);
+        }
+        edge(Screen.EDIT_BUG, Screen.VIEW_BUGS, "Cancel Editing", n -> n.clickAndForget(CANCEL_EDITING));
+    }
+
+    private static void edge(Screen from, Screen to, String label, Consumer<Navigator> action) {
+        GRAPH.computeIfAbsent(from, s -> new ArrayList<>()).add(new Transition(to, label, action));
+    }
+
+    /** Set by navigateTo once it does anything to the app. */
+    private boolean moved;
+
+    /**
+     * Constructs a Navigator with the given driver and timeout.
+     *
+     * @param driver the Android driver instance
+     * @param explicitTimeout maximum wait time for each transition to land
+     */
+    public Navigator(AndroidDriver driver, Duration explicitTimeout) {
+        super(driver, explicitTimeout);
+    }
+
+    /**
+     * Finds the route with the fewest transitions between two screens.
+     *
+     * @param from the starting screen
+     * @param to the destination screen
+     * @return the screens along the route including both ends, or an empty list if there is no route
+     */
+    public static List<Screen> shortestPath(Screen from, Screen to) {
+        if (from == to) {
+            return List.of(from);
+        }
+        Map<Screen, Screen> previous = new EnumMap<>(Screen.class);
+        Deque<Screen> queue = new ArrayDeque<>();
+        queue.add(from);
+        previous.put(from, from);
+        while (!queue.isEmpty()) {
+            Screen screen = queue.poll();
+            for (Transition t : GRAPH.getOrDefault(screen, List.of())) {
+                if (previous.putIfAbsent(t.to, screen) != null) {
+                    continue;
+                }
+                if (t.to == to) {
+                    List<Screen> path = new ArrayList<>();
+                    for (Screen s = to; s != from; s = previous.get(s)) {
+                        path.add(s);
+                    }
+                    path.add(from);
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue.add(t.to);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Takes the app to a screen along the shortest route from wherever it is now.
+     * If a hop lands somewhere unexpected, the route is planned again from there.
+     *
+     * @param target the screen to end up on
+     * @return true if anything was done to the app, false if it already was on the target screen
+     * @throws IllegalArgumentException if the target is UNKNOWN or EDIT_BUG, which needs a bug to be chosen
+     * @throws AssertionError if the current screen cannot be identified or the target is not reached
+     */
+    public boolean navigateTo(Screen target) {
+        if (target == Screen.UNKNOWN) {
+            throw new IllegalArgumentException("Cannot navigate to an unknown screen");
+        }
+        if (target == Screen.EDIT_BUG) {
+            throw new IllegalArgumentException("Edit Bug shows a chosen bug - navigate to VIEW_BUGS and use editBugById");
+        }
+        moved = false;
+        Screen current = identify();
+        for (int plan = 0; plan <= MAX_REPLANS; plan++) {
+            if (current == target) {
+                return moved;
+            }
+            List<Screen> path = shortestPath(current, target);
+            if (path.isEmpty()) {
+                throw new AssertionError("No route from " + current + " to " + target);
+            }
+            logger.info("Navigating {}", path);
+            moved = true;
+            current = follow(path);
+        }
+        if (current != target) {
+            throw new AssertionError("Could not reach " + target + " - app is on " + current);
+        }
+        return moved;
+    }
+
+    /**
+     * Identifies the current screen. If the first read is not recognized, lets a transition settle,
+     * then tries to get back to a known screen: hides the keyboard, scrolls to the top and finally
+     * brings the app back to the front, or presses back once if a dialog covers the app.
+     */
+    private Screen identify() {
+        Screen screen = currentScreen();
+        if (screen == Screen.UNKNOWN) {
+            // May be caught mid-transition - give it one chance to settle
+            waitForUiIdle();
+            screen = currentScreen();
+        }
+        if (screen == Screen.UNKNOWN && hideKeyboard()) {
+            screen = currentScreen();
+        }
+        for (int i = 0; i < 3 && screen == Screen.UNKNOWN; i++) {
+            logger.debug("Unknown screen - scrolling up ({})", i + 1);
+            moved = true;
+            boolean more = scroll("up");
+            screen = currentScreen();
+            if (!more) break;
+        }
+        if (screen == Screen.UNKNOWN && restoreApp()) {
+            waitForUiIdle();
+            screen = currentScreen();
+        }
+        if (screen == Screen.UNKNOWN) {
+            throw new AssertionError("Current screen not recognized - cannot navigate");
+        }
+        return screen;
+    }
+
+    /**
+     * Relaunches the app if another one is in front, or presses back if a dialog covers it.
+     * Back is never pressed on the app's own screens: on its root activity that would exit to the launcher.
+     *
+     * @return true if anything was done
+     */
+    private boolean restoreApp() {
+        String app = DriverFactory.getAppPackage();
+        if (app == null) {
+            return false;
+        }
+        String current;
+        try {
+            current = driver.getCurrentPackage();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the current package: {}", e.getMessage());
+            return false;
+        }
+        if (!app.equals(current)) {
+            logger.info("Unknown screen - {} is in front, activating {}", current, app);
+            moved = true;
+            forgetElements();
+            driver.activateApp(app);
+            return true;
+        }
+        if (snapshot().getRoot().descendants().stream().anyMatch(Navigator::isDialogPart)) {
+            logger.info("Unknown screen - pressing back to dismiss the dialog covering the app");
+            moved = true;
+            forgetElements();
+            driver.navigate().back();
+            return true;
+        }
+        return false;
+    }
+
+    /** Parts of an alert dialog or of an open drop-down list. */
+    private static boolean isDialogPart(SnapshotNode node) {
+        return DIALOG_IDS.contains(node.getResourceId())
+                || "android.widget.CheckedTextView".equals(node.getClassName());
+    }
+
+    /**
+     * @return true if the on-screen keyboard was shown and has been hidden
+     */
+    private boolean hideKeyboard() {
+        try {
+            if (!driver.isKeyboardShown()) {
+                return false;
+            }
+            logger.debug("Unknown screen - hiding the keyboard");
+            moved = true;
+            driver.hideKeyboard();
+            forgetElements();
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Could not hide the keyboard: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Performs the transitions along a path, stopping early if a hop lands elsewhere.
+     *
+     * @return the screen the app ended up on
+     */
+    private Screen follow(List<Screen> path) {
+        Screen current = path.get(0);
+        for (Screen next : path.subList(1, path.size())) {
+            Transition t = transition(current, next);
+            logger.debug("{} -> {} via '{}'", current, next, t.label);
+            t.action.accept(this);
+            try {
+                current = poller.until(d -> {
+                    Screen s = currentScreen();
+                    return s == next ? s : null;
+                }, explicitTimeout);
+            } catch (TimeoutException e) {
+                current = identify();
+                logger.info("Expected {} after '{}' but app is on {}", next, t.label, current);
+                return current;
+            }
+        }
+        return current;
+    }
+
+    private static Transition transition(Screen from, Screen to) {
+        return GRAPH.get(from).stream()
+                .filter(t -> t.to == to)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No transition " + from + " -> " + to));
+    }
+
+    private void clickAndForget(By locator) {
+        click(locator);
+        forgetElements();
+    }
+}
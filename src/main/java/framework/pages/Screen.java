@@ -0,0 +1,30 @@
+package framework.pages;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+
+/**
+ * The app's screens, each with the element that identifies it.
+ * Signatures are the same locators the page objects' assertOnPage() checks.
+ */
+public enum Screen {
+    HOME(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"homePage\")")),
+    VIEW_BUGS(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"viewBugsPage\")")),
+    CREATE_BUG(AppiumBy.androidUIAutomator("new UiSelector().text(\"Create a Bug\")")),
+    EDIT_BUG(AppiumBy.androidUIAutomator("new UiSelector().text(\"Edit Bug\")")),
+    /** None of the known signatures is visible, e.g. a dialog or a screen still loading. */
+    UNKNOWN(null);
+
+    private final By signature;
+
+    Screen(By signature) {
+        this.signature = signature;
+    }
+
+    /**
+     * @return the locator of the element identifying this screen, or null for UNKNOWN
+     */
+    public By getSignature() {
+        return signature;
+    }
+}
@@ -0,0 +1,43 @@
+package framework.pages;
+
+import framework.snapshot.PageSnapshot;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tells which screen the app is on from a single hierarchy read,
+ * instead of waiting for each page's root element in turn.
+ */
+public final class ScreenClassifier {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenClassifier.class);
+
+    private ScreenClassifier() {}
+
+    /**
+     * Captures the hierarchy once and classifies it.
+     *
+     * @param driver the Android driver to read the hierarchy from
+     * @return the current screen, or UNKNOWN if no signature is visible
+     */
+    public static Screen current(AndroidDriver driver) {
+        return classify(PageSnapshot.capture(driver));
+    }
+
+    /**
+     * Classifies a snapshot against the screen signatures.
+     *
+     * @param snapshot the hierarchy to classify
+     * @return the first screen whose signature is visible, or UNKNOWN
+     */
+    public static Screen classify(PageSnapshot snapshot) {
+        for (Screen screen : Screen.values()) {
+            if (screen.getSignature() != null && snapshot.isVisible(screen.getSignature())) {
+                logger.debug("Current screen: {}", screen);
+                return screen;
+            }
+        }
+        logger.debug("Current screen not recognized");
+        return Screen.UNKNOWN;
+    }
+}
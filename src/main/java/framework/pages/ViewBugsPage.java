@@ -1,23 +1,29 @@
 package framework.pages;
 
 import framework.base.BasePage;
-import io.appium.java_client.AppiumBy;
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.SnapshotNode;
+import framework.trace.Tracer;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ViewBugsPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(ViewBugsPage.class);
+    private static final String TEXT_VIEW = "android.widget.TextView";
+    private static final Pattern ID_PATTERN = Pattern.compile("\\bID:\\s*([^\\s\\)]+)");
 
     private final By screenRoot;
     private final By searchBugs;
@@ -69,10 +75,13 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage searchForBugs(String value) {
-        logger.info("Searching for bugs: '{}'", value);
-        type(searchBugs, normalize(value));
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.searchForBugs", value, () -> {
+            logger.info("Searching for bugs: '{}'", value);
+            type(searchBugs, normalize(value));
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
@@ -81,9 +90,12 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage clickButtonAll() {
-        click(buttonAll);
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.clickButtonAll", () -> {
+            click(buttonAll);
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
@@ -92,9 +104,12 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage clickButtonOpen() {
-        click(buttonOpen);
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.clickButtonOpen", () -> {
+            click(buttonOpen);
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
@@ -103,9 +118,12 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage clickButtonFixed() {
-        click(buttonFixed);
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.clickButtonFixed", () -> {
+            click(buttonFixed);
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
@@ -114,9 +132,12 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage clickButtonClosed() {
-        click(buttonClosed);
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.clickButtonClosed", () -> {
+            click(buttonClosed);
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
@@ -125,49 +146,89 @@ public class ViewBugsPage extends BasePage {
      * @return this ViewBugsPage instance for method chaining
      */
     public ViewBugsPage clickNotABug() {
-        click(notABug);
-        updateBugList();
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.clickNotABug", () -> {
+            click(notABug);
+            forgetElements();
+            updateBugList();
+            return this;
+        });
     }
 
     /**
      * Updates the internal bug list from currently visible bugs.
      * Accumulates bugs across multiple calls during scrolling.
+     * Reads all rows from a single page source fetch instead of one getText() per row.
      * Handles empty result sets gracefully with a 2 second timeout
      * and returns an empty arry of strings
      */
     private void updateBugList() {
-        // Check if bugList element exists and is visible
-        if (!isVisible(bugListLocator)) {
-            logger.warn("Bug list element not visible - page may not be loaded correctly");
-            this.bugList = new String[0];
-            return;
-        }
+        Tracer.run(Tracer.ACTION, "ViewBugsPage.updateBugList", () -> {
+            // Wait for the bugList element to show up in the hierarchy
+            PageSnapshot snap;
+            try {
+                snap = poller.until(d -> {
+                    PageSnapshot s = snapshot();
+                    return s.isVisible(bugListLocator) ? s : null;
+                }, shortTimeout());
+            } catch (TimeoutException e) {
+                logger.warn("Bug list element not visible - page may not be loaded correctly");
+                this.bugList = new String[0];
+                return;
+            }
 
-        WebElement list = waitVisible(bugListLocator);
+            if (!hasTextRows(snap)) {
+                try {
+                    snap = poller.until(d -> {
+                        PageSnapshot s = snapshot();
+                        return hasTextRows(s) ? s : null;
+                    }, Duration.ofSeconds(2));
+                } catch (TimeoutException e) {
+                    logger.info("Bug list is empty - no bugs found");
+                    this.bugList = new String[0];
+                    return;
+                }
+            }
 
-        try {
-            wait.withTimeout(Duration.ofSeconds(2))
-                    .until(d -> !list.findElements(AppiumBy.className("android.widget.TextView")).isEmpty());
-        } catch (TimeoutException e) {
-            logger.info("Bug list is empty - no bugs found");
-            this.bugList = new String[0];
-            return;
-        }
+            accumulatedBugs.addAll(visibleBugRows(snap, bugListLocator));
 
-        String[] visibleBugs = list.findElements(AppiumBy.className("android.widget.TextView"))
-                .stream()
-                .map(WebElement::getText)
-                .filter(t -> t.contains("(ID:"))
-                .toArray(String[]::new);
+            this.bugList = accumulatedBugs.toArray(new String[0]);
+            logger.info("Found {} bugs in list", this.bugList.length);
+        });
+    }
 
-        for (String bug : visibleBugs) {
-            accumulatedBugs.add(bug);
-        }
+    /**
+     * Checks whether the bug list in a snapshot contains any text rows yet.
+     *
+     * @param snap the snapshot to inspect
+     * @return true if the list has at least one TextView
+     */
+    private boolean hasTextRows(PageSnapshot snap) {
+        return snap.find(bugListLocator)
+                .map(list -> list.descendants().stream()
+                        .anyMatch(n -> n.getClassName().equals(TEXT_VIEW)))
+                .orElse(false);
+    }
 
-        this.bugList = accumulatedBugs.toArray(new String[0]);
-        logger.info("Found {} bugs in list", this.bugList.length);
+    /**
+     * Extracts the displayed bug rows (texts containing "(ID:") under the list element.
+     *
+     * @param snap the snapshot to read from
+     * @param listLocator locator of the bug list container
+     * @return the row texts in on-screen order, empty if the list is missing
+     */
+    public static List<String> visibleBugRows(PageSnapshot snap, By listLocator) {
+        List<String> rows = new ArrayList<>();
+        snap.find(listLocator).ifPresent(list -> {
+            for (SnapshotNode node : list.descendants()) {
+                if (node.isDisplayed() && node.getClassName().equals(TEXT_VIEW)
+                        && node.getText().contains("(ID:")) {
+                    rows.add(node.getText());
+                }
+            }
+        });
+        return rows;
     }
+
     public void updateBugListAfterDeletion() {
         accumulatedBugs.clear();
         updateBugList();
@@ -190,16 +251,19 @@ public class ViewBugsPage extends BasePage {
      * @throws AssertionError if the bug is not found after scrolling
      */
     public ViewBugsPage editBugById(String idText) {
-        logger.info("Opening edit page for bug ID: {}", idText);
-        By row = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().textContains(\"(ID: " + idText + "\")");
-        scrollIntoViewIfNeeded(row);
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.editBugById", idText, () -> {
+            logger.info("Opening edit page for bug ID: {}", idText);
+            By row = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().textContains(\"(ID: " + idText + "\")");
+            scrollIntoViewIfNeeded(row);
 
-        By editForRow = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().textContains(\"(ID: " + idText + "\")" +
-                        ".fromParent(new UiSelector().text(\"Edit\"))");
-        click(editForRow);
-        return this;
+            By editForRow = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().textContains(\"(ID: " + idText + "\")" +
+                            ".fromParent(new UiSelector().text(\"Edit\"))");
+            click(editForRow);
+            forgetElements();
+            return this;
+        });
     }
 
     /*public ViewBugsPage deleteBugByTitle(String value) {
@@ -219,18 +283,21 @@ public class ViewBugsPage extends BasePage {
      * @throws AssertionError if the bug is not found
      */
     public ViewBugsPage deleteBugById(String idText) {
-        logger.warn("Deleting bug ID: {}", idText);
-        By row = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().textContains(\"(ID: " + idText + "\")");
-        scrollIntoViewIfNeeded(row);
-        if (!isVisible(row)) {
-            throw new AssertionError("Bug with ID " + idText + " not found");
-        }
-        By deleteForRow = io.appium.java_client.AppiumBy.androidUIAutomator(
-                "new UiSelector().textContains(\"(ID: " + idText + "\")" +
-                        ".fromParent(new UiSelector().text(\"Delete\"))");
-        click(deleteForRow);
-        return this;
+        return Tracer.call(Tracer.ACTION, "ViewBugsPage.deleteBugById", idText, () -> {
+            logger.warn("Deleting bug ID: {}", idText);
+            By row = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().textContains(\"(ID: " + idText + "\")");
+            scrollIntoViewIfNeeded(row);
+            if (!isVisible(row)) {
+                throw new AssertionError("Bug with ID " + idText + " not found");
+            }
+            By deleteForRow = io.appium.java_client.AppiumBy.androidUIAutomator(
+                    "new UiSelector().textContains(\"(ID: " + idText + "\")" +
+                            ".fromParent(new UiSelector().text(\"Delete\"))");
+            click(deleteForRow);
+            forgetElements();
+            return this;
+        });
     }
 
     /**
@@ -253,14 +320,32 @@ public class ViewBugsPage extends BasePage {
         return bugList.length;
     }
 
+    /**
+     * Retrieves the IDs of the bugs in the current accumulated bug list.
+     * Automatically updates the list before returning.
+     *
+     * @return bug IDs in list order
+     */
+    public String[] getBugIds() {
+        updateBugList();
+        return Arrays.stream(bugList).map(ViewBugsPage::extractId).toArray(String[]::new);
+    }
+
     /*private static String formatId(double id) {
         if (id == Math.rint(id)) return String.valueOf((long) id);
         return BigDecimal.valueOf(id).stripTrailingZeros().toPlainString();
-    }
+    }*/
 
-    private static String extractId(String s) {
-        Matcher m = Pattern.compile("\\bID:\\s*([^\\s\\)]+)").matcher(s);
+    /**
+     * Extracts the bug ID from a bug list entry such as "Bug Title (ID: 12345)".
+     *
+     * @param row the bug list entry
+     * @return the ID text
+     * @throws IllegalStateException if the entry has no ID
+     */
+    public static String extractId(String row) {
+        Matcher m = ID_PATTERN.matcher(row);
         if (m.find()) return m.group(1);
-        throw new IllegalStateException("Unable to parse ID from: " + s);
-    }*/
+        throw new IllegalStateException("Unable to parse ID from: " + row);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package framework.seeding;
+
+import framework.utils.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeviceShell} backed by the adb binary and {@code run-as}.
+ * Requires a debuggable build of the app; the adb binary is taken from {@code adb.path}
+ * in config.properties, or {@code adb} on the PATH.
+ */
+public final class AdbShell implements DeviceShell {
+    private static final Logger logger = LoggerFactory.getLogger(AdbShell.class);
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(30);
+    /** Printed on its own line after the command's output, followed by its exit status. */
+    private static final String STATUS_MARKER = "\n__adb_rc=";
+    private static final String PRINT_STATUS = "; printf '\\n__adb_rc=%d\\n' $?";
+    /** Whether each device (by serial, "null" for the only attached one) supports the adb shell protocol. */
+    private static final Map<String, Boolean> SHELL_PROTOCOL = new ConcurrentHashMap<>();
+
+    private final String adb;
+    private final String serial;
+
+    /**
+     * @param serial device serial (udid) to target, or null when only one device is attached
+     */
+    public AdbShell(String serial) {
+        String configured = Config.getOrNull("adb.path");
+        this.adb = configured == null || configured.isBlank() ? "adb" : configured.trim();
+        this.serial = serial;
+    }
+
+    @Override
+    public byte[] runAs(String appPackage, String command, byte[] stdin) {
+        String remote = "run-as " + appPackage + " sh -c " + DeviceShell.quote(command);
+        if (stdin != null) {
+            requireShellProtocol();
+        }
+        // -T: no pty, so bytes pass through unchanged. The remote command only sees the end of its stdin
+        // through the shell protocol (shell_v2), checked above when input is sent.
+        // adb shell only reports the remote exit status on devices with the shell protocol, and run-as
+        // failures (e.g. "package not debuggable") print nothing on stdout, so the status is echoed after the output
+        logger.debug("adb: {}", remote);
+        Result result = run(remote, stdin, "shell", "-T", remote + PRINT_STATUS);
+        if (result.writeFailure != null) {
+            throw new IllegalStateException("adb exited (exit " + result.exit + ") before reading all input: "
+                    + remote + " - " + result.errors(), result.writeFailure);
+        }
+        if (result.exit != 0) {
+            throw new IllegalStateException("adb failed (exit " + result.exit + "): " + remote + " - " + result.errors());
+        }
+        byte[] output = result.out;
+        int marker = lastIndexOf(output, STATUS_MARKER.getBytes(StandardCharsets.US_ASCII));
+        if (marker < 0) {
+            throw new IllegalStateException("adb returned no exit status for: " + remote + " - " + result.errors());
+        }
+        String status = new String(output, marker + STATUS_MARKER.length(), output.length - marker - STATUS_MARKER.length(),
+                StandardCharsets.US_ASCII).trim();
+        if (!status.equals("0")) {
+            throw new IllegalStateException("Device command failed (exit " + status + "): " + remote + " - " + result.errors());
+        }
+        return Arrays.copyOf(output, marker);
+    }
+
+    /**
+     * Without the shell protocol adb never closes the remote command's stdin, so a command reading it
+     * (e.g. {@code cat > file}) would wait until the timeout instead of finishing.
+     */
+    private void requireShellProtocol() {
+        Boolean supported = SHELL_PROTOCOL.get(String.valueOf(serial));
+        if (supported == null) {
+            Result result = run("features", null, "features");
+            if (result.exit != 0) {
+                throw new IllegalStateException("adb features failed (exit " + result.exit + ") - " + result.errors());
+            }
+            supported = Arrays.asList(new String(result.out, StandardCharsets.UTF_8).trim().split("[,\\s]+"))
+                    .contains("shell_v2");
+            SHELL_PROTOCOL.put(String.valueOf(serial), supported);
+        }
+        if (!supported) {
+            throw new IllegalStateException("Device " + (serial == null ? "" : serial + " ")
+                    + "does not support the adb shell protocol (shell_v2), so input cannot be sent to device commands."
+                    + " Use a device with Android 7.0 or newer, or seed.store=webview");
+        }
+    }
+
+    /** Outcome of one adb invocation. */
+    private static final class Result {
+        final int exit;
+        final byte[] out;
+        final byte[] err;
+        /** Set when the command exited before reading all of its input. */
+        final IOException writeFailure;
+
+        Result(int exit, byte[] out, byte[] err, IOException writeFailure) {
+            this.exit = exit;
+            this.out = out;
+            this.err = err;
+            this.writeFailure = writeFailure;
+        }
+
+        String errors() {
+            return new String(err, StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    private Result run(String what, byte[] stdin, String... args) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(adb);
+        if (serial != null) {
+            cmd.add("-s");
+            cmd.add(serial);
+        }
+        cmd.addAll(Arrays.asList(args));
+
+        Process process;
+        try {
+            process = new ProcessBuilder(cmd).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to run " + adb + ". Is the Android SDK on the PATH?", e);
+        }
+        try {
+            CompletableFuture<byte[]> out = CompletableFuture.supplyAsync(() -> readAll(process.getInputStream()));
+            CompletableFuture<byte[]> err = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()));
+            IOException writeFailure = null;
+            try (OutputStream in = process.getOutputStream()) {
+                if (stdin != null) {
+                    in.write(stdin);
+                }
+            } catch (IOException e) {
+                writeFailure = e;
+            }
+            if (!process.waitFor(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("adb timed out after " + COMMAND_TIMEOUT.toSeconds() + "s: " + what);
+            }
+            return new Result(process.exitValue(), out.join(), err.join(), writeFailure);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running adb: " + what, e);
+        }
+    }
+
+    private static int lastIndexOf(byte[] data, byte[] pattern) {
+        for (int i = data.length - pattern.length; i >= 0; i--) {
+            if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] readAll(InputStream stream) {
+        try (InputStream in = stream; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            in.transferTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+}
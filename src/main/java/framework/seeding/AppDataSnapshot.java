@@ -0,0 +1,95 @@
+package framework.seeding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A copy of the app's private data, taken once and restored before each test so every test starts
+ * from the same stored state without reinstalling or clearing the app.
+ * The listed directories of the app's data directory are packed with tar on the device and kept in memory;
+ * restoring deletes those directories and unpacks the copy, in one {@link DeviceShell} round trip each way.
+ * Directories that did not exist when the copy was taken are removed on restore.
+ * Stop the app before capturing or restoring, so it neither holds unsaved data nor overwrites the restored files.
+ */
+public final class AppDataSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(AppDataSnapshot.class);
+
+    /** Where the app keeps its state: plain files, preferences, SQLite databases and WebView storage. */
+    public static final List<String> DEFAULT_DIRS = List.of("files", "shared_prefs", "databases", "app_webview");
+
+    private final DeviceShell shell;
+    private final String appPackage;
+    private final List<String> dirs;
+    private final byte[] archive;
+
+    private AppDataSnapshot(DeviceShell shell, String appPackage, List<String> dirs, byte[] archive) {
+        this.shell = shell;
+        this.appPackage = appPackage;
+        this.dirs = dirs;
+        this.archive = archive;
+    }
+
+    /**
+     * Copies the app's data as it is now.
+     *
+     * @param shell shell used to reach the app's data directory
+     * @param appPackage package of the app under test
+     * @param dirs directories relative to the app's data directory to include, e.g. {@link #DEFAULT_DIRS}
+     * @return the snapshot
+     * @throws IllegalStateException if the device command fails, or it produced no copy although some of the directories exist
+     */
+    public static AppDataSnapshot capture(DeviceShell shell, String appPackage, List<String> dirs) {
+        long start = System.nanoTime();
+        // tar refuses an empty file list, so only existing directories are passed and none at all gives an empty copy
+        String command = "set --; for d in " + words(dirs) + "; do if [ -e \"$d\" ]; then set -- \"$@\" \"$d\"; fi; done; "
+                + "if [ $# -gt 0 ]; then tar -cf - \"$@\"; fi";
+        byte[] archive = shell.runAs(appPackage, command, null);
+        if (archive.length == 0) {
+            // Empty only when none of the directories exists; anything else would make every restore wipe the data
+            String existing = new String(shell.runAs(appPackage,
+                    "for d in " + words(dirs) + "; do if [ -e \"$d\" ]; then echo \"$d\"; fi; done", null),
+                    StandardCharsets.UTF_8).trim();
+            if (!existing.isEmpty()) {
+                throw new IllegalStateException("Capturing the app data of " + appPackage + " produced an empty copy"
+                        + " although these directories exist: " + existing.replace('\n', ' '));
+            }
+        }
+        logger.info("Captured app data of {} ({} KB) in {} ms", appPackage, archive.length / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+        return new AppDataSnapshot(shell, appPackage, List.copyOf(dirs), archive);
+    }
+
+    /**
+     * Puts the app's data back to the captured state.
+     *
+     * @throws IllegalStateException if deleting the directories or unpacking the copy fails on the device
+     */
+    public void restore() {
+        long start = System.nanoTime();
+        String command = "rm -rf " + words(dirs);
+        if (archive.length > 0) {
+            shell.runAs(appPackage, command + " && tar -xf -", archive);
+        } else {
+            shell.runAs(appPackage, command, null);
+        }
+        logger.info("Restored app data of {} in {} ms", appPackage, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return size of the captured copy in bytes
+     */
+    public int size() {
+        return archive.length;
+    }
+
+    private static String words(List<String> dirs) {
+        if (dirs.isEmpty()) {
+            throw new IllegalArgumentException("No app data directories given");
+        }
+        return dirs.stream().map(DeviceShell::quote).collect(Collectors.joining(" "));
+    }
+}
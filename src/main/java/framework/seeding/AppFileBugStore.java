@@ -0,0 +1,42 @@
+package framework.seeding;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link BugStore} for a JSON file inside the app's private data directory, accessed through a {@link DeviceShell}.
+ * The app reads the file at startup, so callers relaunch it after seeding.
+ */
+public final class AppFileBugStore implements BugStore {
+    private final DeviceShell shell;
+    private final String appPackage;
+    private final String path;
+
+    /**
+     * @param shell shell used to reach the app's data directory
+     * @param appPackage package of the app under test
+     * @param path file path relative to the app's data directory, e.g. {@code files/bugs.json}
+     */
+    public AppFileBugStore(DeviceShell shell, String appPackage, String path) {
+        this.shell = shell;
+        this.appPackage = appPackage;
+        this.path = path;
+    }
+
+    @Override
+    public String read() {
+        String quoted = DeviceShell.quote(path);
+        byte[] content = shell.runAs(appPackage, "if [ -f " + quoted + " ]; then cat " + quoted + "; fi", null);
+        String json = new String(content, StandardCharsets.UTF_8);
+        return json.isBlank() ? null : json;
+    }
+
+    @Override
+    public void write(String json) {
+        String command = "cat > " + DeviceShell.quote(path);
+        int slash = path.lastIndexOf('/');
+        if (slash > 0) {
+            command = "mkdir -p " + DeviceShell.quote(path.substring(0, slash)) + " && " + command;
+        }
+        shell.runAs(appPackage, command, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,203 @@
+package framework.seeding;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import framework.utils.BugIds;
+
+import java.util.Objects;
+
+/**
+ * One bug as stored by the app, used to seed test data without going through the Create Bug form.
+ * Field names match the app's form fields; fields left null are omitted from the stored JSON.
+ * Built with {@link #builder()} or read from JSON with Jackson.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(builder = BugRecord.Builder.class)
+public final class BugRecord {
+    private final String id;
+    private final String title;
+    private final String steps;
+    private final String expectedResult;
+    private final String actualResult;
+    private final String status;
+    private final String severity;
+    private final String priority;
+    private final String detectedBy;
+    private final String fixedBy;
+    private final String date;
+    private final String dateClosed;
+
+    private BugRecord(Builder b) {
+        this.id = b.id != null ? b.id : BugIds.next();
+        this.title = Objects.requireNonNull(b.title, "Bug title must not be null");
+        this.steps = b.steps;
+        this.expectedResult = b.expectedResult;
+        this.actualResult = b.actualResult;
+        this.status = b.status;
+        this.severity = b.severity;
+        this.priority = b.priority;
+        this.detectedBy = b.detectedBy;
+        this.fixedBy = b.fixedBy;
+        this.date = b.date;
+        this.dateClosed = b.dateClosed;
+    }
+
+    /**
+     * @return a new builder; the ID defaults to {@link BugIds#next()} if not set
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSteps() {
+        return steps;
+    }
+
+    public String getExpectedResult() {
+        return expectedResult;
+    }
+
+    public String getActualResult() {
+        return actualResult;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getDetectedBy() {
+        return detectedBy;
+    }
+
+    public String getFixedBy() {
+        return fixedBy;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getDateClosed() {
+        return dateClosed;
+    }
+
+    /**
+     * @return the text the bug list shows for this bug, e.g. "Login fails (ID: 1760000000001)"
+     */
+    public String listEntry() {
+        return title + " (ID: " + id + ")";
+    }
+
+    @Override
+    public String toString() {
+        return listEntry();
+    }
+
+    /**
+     * Builder for {@link BugRecord}. Dates use the app's dd/MM/yyyy format.
+     */
+    @JsonPOJOBuilder(withPrefix = "")
+    public static final class Builder {
+        private String id;
+        private String title;
+        private String steps;
+        private String expectedResult;
+        private String actualResult;
+        private String status;
+        private String severity;
+        private String priority;
+        private String detectedBy;
+        private String fixedBy;
+        private String date;
+        private String dateClosed;
+
+        private Builder() {}
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder steps(String steps) {
+            this.steps = steps;
+            return this;
+        }
+
+        public Builder expectedResult(String expectedResult) {
+            this.expectedResult = expectedResult;
+            return this;
+        }
+
+        public Builder actualResult(String actualResult) {
+            this.actualResult = actualResult;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder severity(String severity) {
+            this.severity = severity;
+            return this;
+        }
+
+        public Builder priority(String priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder detectedBy(String detectedBy) {
+            this.detectedBy = detectedBy;
+            return this;
+        }
+
+        public Builder fixedBy(String fixedBy) {
+            this.fixedBy = fixedBy;
+            return this;
+        }
+
+        public Builder date(String date) {
+            this.date = date;
+            return this;
+        }
+
+        public Builder dateClosed(String dateClosed) {
+            this.dateClosed = dateClosed;
+            return this;
+        }
+
+        /**
+         * @return the bug record
+         * @throws NullPointerException if no title was set
+         */
+        public BugRecord build() {
+            return new BugRecord(this);
+        }
+    }
+}
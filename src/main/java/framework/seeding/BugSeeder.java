@@ -0,0 +1,197 @@
+package framework.seeding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import framework.driver.Device;
+import framework.driver.DriverFactory;
+import framework.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates bugs by writing them straight into the app's storage instead of filling in the Create Bug form.
+ * Seeded bugs are merged into the stored array by ID: existing bugs with other IDs are kept,
+ * bugs with the same ID are replaced. Stored fields the app knows about but {@link BugRecord}
+ * does not are left untouched on bugs that are not replaced.
+ */
+public final class BugSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(BugSeeder.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BugStore store;
+    private final Runnable afterWrite;
+
+    /**
+     * @param store where the app keeps its bugs
+     */
+    public BugSeeder(BugStore store) {
+        this(store, () -> {});
+    }
+
+    /**
+     * @param store where the app keeps its bugs
+     * @param afterWrite run after each write, e.g. to relaunch the app so it reloads its data
+     */
+    public BugSeeder(BugStore store, Runnable afterWrite) {
+        this.store = store;
+        this.afterWrite = afterWrite;
+    }
+
+    /**
+     * Creates a seeder for the current thread's session, configured by config.properties:
+     * {@code seed.store} selects {@code webview} (localStorage under {@code seed.storageKey})
+     * or {@code file} (a JSON file at {@code seed.file} in the app's data directory, written over adb).
+     *
+     * @param driver the current session
+     * @return a seeder writing into the app under test
+     */
+    public static BugSeeder forSession(AndroidDriver driver) {
+        String kind = Config.getOrNull("seed.store");
+        if (kind == null || kind.isBlank() || kind.trim().equalsIgnoreCase("webview")) {
+            String key = Config.getOrNull("seed.storageKey");
+            return new BugSeeder(new WebStorageBugStore(driver, key == null ? "bugs" : key.trim()));
+        }
+        if (!kind.trim().equalsIgnoreCase("file")) {
+            throw new IllegalArgumentException("Unknown seed.store: '" + kind + "' (expected webview or file)");
+        }
+
+        String appPackage = DriverFactory.getAppPackage();
+        Device device = DriverFactory.getLeasedDevice();
+        String file = Config.getOrNull("seed.file");
+        BugStore store = new AppFileBugStore(new AdbShell(device == null ? null : device.getUdid()),
+                appPackage, file == null ? "files/bugs.json" : file.trim());
+        return new BugSeeder(store, () -> {
+            driver.terminateApp(appPackage);
+            driver.activateApp(appPackage);
+        });
+    }
+
+    /**
+     * Stores bugs in the app, replacing any stored bugs with the same IDs.
+     *
+     * @param bugs the bugs to store
+     * @return the stored bugs, in the order given
+     */
+    public List<BugRecord> seed(BugRecord... bugs) {
+        return seed(Arrays.asList(bugs));
+    }
+
+    /**
+     * Stores bugs in the app, replacing any stored bugs with the same IDs.
+     *
+     * @param bugs the bugs to store
+     * @return the stored bugs, in the order given
+     */
+    public List<BugRecord> seed(List<BugRecord> bugs) {
+        if (bugs.isEmpty()) {
+            return bugs;
+        }
+        Map<String, JsonNode> stored = readStored();
+        for (BugRecord bug : bugs) {
+            stored.put(bug.getId(), MAPPER.valueToTree(bug));
+        }
+        writeStored(stored);
+        logger.info("Seeded {} bug(s), {} stored in total", bugs.size(), stored.size());
+        return bugs;
+    }
+
+    /**
+     * Stores the bugs listed in a JSON file (an array of bug objects).
+     *
+     * @param file path of the JSON file
+     * @return the stored bugs
+     */
+    public List<BugRecord> seedFromJson(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return seed(readRecords(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read seed file " + file, e);
+        }
+    }
+
+    /**
+     * Removes bugs from the app's storage.
+     *
+     * @param ids IDs of the bugs to remove; unknown IDs are ignored
+     */
+    public void remove(Collection<String> ids) {
+        Map<String, JsonNode> stored = readStored();
+        if (stored.keySet().removeAll(new HashSet<>(ids))) {
+            writeStored(stored);
+            logger.info("Removed seeded bug(s) {}", ids);
+        }
+    }
+
+    /**
+     * @return IDs of all bugs currently stored by the app
+     */
+    public Set<String> storedIds() {
+        return readStored().keySet();
+    }
+
+    /**
+     * Reads bug records from a JSON array.
+     *
+     * @param in stream containing a JSON array of bug objects
+     * @return the records, in file order
+     * @throws IOException if the stream cannot be read or is not a JSON array of bugs
+     */
+    public static List<BugRecord> readRecords(InputStream in) throws IOException {
+        return MAPPER.readValue(in, new TypeReference<List<BugRecord>>() {});
+    }
+
+    private Map<String, JsonNode> readStored() {
+        String json = store.read();
+        Map<String, JsonNode> stored = new LinkedHashMap<>();
+        if (json == null || json.isBlank()) {
+            return stored;
+        }
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored bugs are not valid JSON", e);
+        }
+        if (!root.isArray()) {
+            throw new IllegalStateException("Stored bugs are not a JSON array: " + root.getNodeType());
+        }
+        List<JsonNode> withoutId = new ArrayList<>();
+        for (JsonNode bug : root) {
+            JsonNode id = bug.get("id");
+            if (id == null || id.isNull()) {
+                withoutId.add(bug);
+            } else {
+                stored.put(id.asText(), bug);
+            }
+        }
+        if (!withoutId.isEmpty()) {
+            throw new IllegalStateException(withoutId.size() + " stored bug(s) have no id - refusing to rewrite the store");
+        }
+        return stored;
+    }
+
+    private void writeStored(Map<String, JsonNode> stored) {
+        ArrayNode array = MAPPER.createArrayNode();
+        stored.values().forEach(array::add);
+        store.write(array.toString());
+        afterWrite.run();
+    }
+}
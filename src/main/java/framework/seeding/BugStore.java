@@ -0,0 +1,19 @@
+package framework.seeding;
+
+/**
+ * Where the app keeps its bugs: a JSON array of bug objects, read and written as a whole.
+ */
+public interface BugStore {
+
+    /**
+     * @return the stored JSON array, or null if the app has not stored any bugs yet
+     */
+    String read();
+
+    /**
+     * Replaces the stored bugs and makes the app pick them up.
+     *
+     * @param json the new JSON array
+     */
+    void write(String json);
+}
@@ -0,0 +1,29 @@
+package framework.seeding;
+
+/**
+ * Runs shell commands on the device as the app under test, with access to its private data directory.
+ * {@link AdbShell} is the real implementation; tests can substitute an in-memory fake.
+ */
+public interface DeviceShell {
+
+    /**
+     * Runs a command in the app's data directory as the app's user.
+     *
+     * @param appPackage package of the app whose user and data directory to use
+     * @param command shell command line, run with {@code sh -c}
+     * @param stdin bytes fed to the command's standard input, or null for none
+     * @return the command's standard output
+     * @throws IllegalStateException if the command fails
+     */
+    byte[] runAs(String appPackage, String command, byte[] stdin);
+
+    /**
+     * Quotes a value for use as a single shell word.
+     *
+     * @param value the value to quote
+     * @return the value in single quotes, with embedded single quotes escaped
+     */
+    static String quote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+}
@@ -0,0 +1,61 @@
+package framework.seeding;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+/**
+ * {@link BugStore} for bugs kept in the WebView's {@code localStorage} under a single key.
+ * Switches the session into the app's WebView context for the read or write and back to
+ * the native context afterwards. Writing reloads the page so the bug list shows the new data.
+ * Requires WebView debugging to be enabled in the app build.
+ */
+public final class WebStorageBugStore implements BugStore {
+    private static final Logger logger = LoggerFactory.getLogger(WebStorageBugStore.class);
+    private static final String NATIVE = "NATIVE_APP";
+
+    private final AndroidDriver driver;
+    private final String key;
+
+    /**
+     * @param driver session of the app under test
+     * @param key localStorage key the app keeps its bug array under
+     */
+    public WebStorageBugStore(AndroidDriver driver, String key) {
+        this.driver = driver;
+        this.key = key;
+    }
+
+    @Override
+    public String read() {
+        return (String) inWebView("return window.localStorage.getItem(arguments[0]);", key);
+    }
+
+    @Override
+    public void write(String json) {
+        inWebView("window.localStorage.setItem(arguments[0], arguments[1]); window.location.reload();", key, json);
+    }
+
+    private Object inWebView(String script, Object... args) {
+        String original = driver.getContext();
+        String webView = findWebView();
+        driver.context(webView);
+        try {
+            return driver.executeScript(script, args);
+        } finally {
+            driver.context(original != null ? original : NATIVE);
+        }
+    }
+
+    private String findWebView() {
+        Set<String> contexts = driver.getContextHandles();
+        logger.debug("Available contexts: {}", contexts);
+        return contexts.stream()
+                .filter(c -> c.startsWith("WEBVIEW"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "No WebView context available (found " + contexts + "). Is WebView debugging enabled in the app?"));
+    }
+}
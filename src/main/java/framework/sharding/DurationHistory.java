@@ -0,0 +1,106 @@
+package framework.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-test durations from earlier runs, kept in a small JSON file of test ID to milliseconds.
+ * Test IDs are "fully.qualified.Class#method()". A new measurement is blended with the stored
+ * value (half each) so one slow or fast run does not swing the next shard plan too far.
+ */
+public final class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Long> millis;
+
+    private DurationHistory(Map<String, Long> millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * @return a history with no durations
+     */
+    public static DurationHistory empty() {
+        return new DurationHistory(new TreeMap<>());
+    }
+
+    /**
+     * Reads a history file. A missing or unreadable file gives an empty history, so the first run
+     * (or a run after the file was lost) still works and just plans without durations.
+     *
+     * @param file the history file
+     * @return the stored durations
+     */
+    public static DurationHistory load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return empty();
+        }
+        try {
+            Map<String, Long> stored = MAPPER.readValue(file.toFile(), new TypeReference<TreeMap<String, Long>>() {});
+            return new DurationHistory(stored == null ? new TreeMap<>() : stored);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable duration history {}: {}", file, e.getMessage());
+            return empty();
+        }
+    }
+
+    /**
+     * @return stored durations in milliseconds by test ID
+     */
+    public Map<String, Long> getMillis() {
+        return Collections.unmodifiableMap(millis);
+    }
+
+    /**
+     * Adds this run's measurements. Tests that did not run keep their stored duration.
+     *
+     * @param measured durations in milliseconds by test ID
+     */
+    public void update(Map<String, Long> measured) {
+        measured.forEach((test, ms) -> millis.merge(test, ms, (old, now) -> (old + now + 1) / 2));
+    }
+
+    /**
+     * Writes the history, replacing the file in one step so a concurrent reader never sees half a file.
+     *
+     * @param file the history file
+     */
+    public void save(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            MAPPER.writeValue(tmp.toFile(), millis);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write duration history " + file, e);
+        }
+    }
+
+    /**
+     * Sums the stored durations per test class.
+     *
+     * @return total milliseconds by fully qualified class name
+     */
+    public Map<String, Long> classTotals() {
+        Map<String, Long> totals = new TreeMap<>();
+        millis.forEach((test, ms) -> {
+            int hash = test.indexOf('#');
+            totals.merge(hash < 0 ? test : test.substring(0, hash), ms, Long::sum);
+        });
+        return totals;
+    }
+}
@@ -0,0 +1,131 @@
+package framework.sharding;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits test classes across workers so each worker gets about the same total run time.
+ * Classes are the unit of work because all methods of a class share one device and session.
+ * Uses longest-processing-time-first: classes are taken slowest first and each goes to the
+ * worker with the least work so far. Every worker computes the same plan from the same history,
+ * so no coordination is needed. Classes with no recorded duration are spread by a hash of their name.
+ */
+public final class ShardPlanner {
+    private final int shardCount;
+    private final Map<String, Integer> assignment = new HashMap<>();
+    private final List<List<String>> shards = new ArrayList<>();
+    private final long[] loads;
+
+    /**
+     * Plans the shards.
+     *
+     * @param classMillis recorded duration per test class in milliseconds
+     * @param shardCount number of workers
+     * @throws IllegalArgumentException if shardCount is less than 1
+     */
+    public ShardPlanner(Map<String, Long> classMillis, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, was " + shardCount);
+        }
+        this.shardCount = shardCount;
+        this.loads = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        List<Map.Entry<String, Long>> classes = new ArrayList<>(classMillis.entrySet());
+        // Name breaks ties so every worker sorts identically
+        classes.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> c : classes) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[lightest]) lightest = i;
+            }
+            loads[lightest] += c.getValue();
+            shards.get(lightest).add(c.getKey());
+            assignment.put(c.getKey(), lightest);
+        }
+    }
+
+    /**
+     * Plans shards from a duration history.
+     *
+     * @param history per-test durations from earlier runs
+     * @param shardCount number of workers
+     * @return the plan
+     */
+    public static ShardPlanner fromHistory(DurationHistory history, int shardCount) {
+        return new ShardPlanner(history.classTotals(), shardCount);
+    }
+
+    /**
+     * @param className fully qualified test class name
+     * @return the zero-based worker that runs the class
+     */
+    public int shardOf(String className) {
+        Integer shard = assignment.get(className);
+        return shard != null ? shard : Math.floorMod(className.hashCode(), shardCount);
+    }
+
+    /**
+     * @param shard zero-based worker index
+     * @return the classes with recorded durations planned for the worker, slowest first
+     */
+    public List<String> classesOf(int shard) {
+        return List.copyOf(shards.get(shard));
+    }
+
+    /**
+     * @param shard zero-based worker index
+     * @return the recorded milliseconds planned for the worker
+     */
+    public long loadOf(int shard) {
+        return loads[shard];
+    }
+
+    /**
+     * @return number of workers
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return one line per worker with its planned time and classes
+     */
+    public String describe() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < shardCount; i++) {
+            out.append(String.format(Locale.ROOT, "shard %d/%d: %8.1f s  %s%n",
+                    i + 1, shardCount, loads[i] / 1000.0, shards.get(i)));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Prints the plan for a history file: {@code <history.json> <shardTotal> [shardIndex]}.
+     * With a one-based shardIndex, prints that worker's classes as Gradle {@code --tests} filters.
+     *
+     * @param args history file, worker count and optional worker index
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardPlanner <history.json> <shardTotal> [shardIndex]");
+            System.exit(2);
+        }
+        ShardPlanner plan = fromHistory(DurationHistory.load(Paths.get(args[0])), Integer.parseInt(args[1]));
+        if (args.length < 3) {
+            System.out.print(plan.describe());
+            return;
+        }
+        for (String className : plan.classesOf(Integer.parseInt(args[2]) - 1)) {
+            System.out.println("--tests " + className);
+        }
+    }
+}
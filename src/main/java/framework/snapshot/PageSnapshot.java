@@ -0,0 +1,260 @@
+package framework.snapshot;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-memory copy of the screen hierarchy, fetched with a single
+ * {@code getPageSource()} call. Locators are evaluated locally, so any number of
+ * read-only checks against a stable screen cost one round trip to the device.
+ */
+public final class PageSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(PageSnapshot.class);
+    private static final ThreadLocal<SAXParser> PARSER = ThreadLocal.withInitial(() -> {
+        try {
+            return SAXParserFactory.newInstance().newSAXParser();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create XML parser", e);
+        }
+    });
+    /** Parsed locators, most recently used last; guarded by itself. */
+    private static final QueryCache QUERY_CACHE = new QueryCache(256);
+
+    private final SnapshotNode root;
+    private final String source;
+
+    private PageSnapshot(SnapshotNode root, String source) {
+        this.root = root;
+        this.source = source;
+    }
+
+    /**
+     * Fetches the current hierarchy from the device and parses it.
+     *
+     * @param driver the Android driver to read the page source from
+     * @return the parsed snapshot
+     */
+    public static PageSnapshot capture(AndroidDriver driver) {
+        long start = System.nanoTime();
+        PageSnapshot snapshot = parse(driver.getPageSource());
+        logger.debug("Captured page snapshot in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Parses a UiAutomator2 page source document.
+     *
+     * @param xml the page source XML
+     * @return the parsed snapshot
+     * @throws IllegalArgumentException if the XML cannot be parsed
+     */
+    public static PageSnapshot parse(String xml) {
+        SAXParser parser = PARSER.get();
+        try {
+            TreeBuilder builder = new TreeBuilder();
+            parser.parse(new InputSource(new StringReader(xml)), builder);
+            return new PageSnapshot(builder.root, xml);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to parse page source", e);
+        } finally {
+            parser.reset();
+        }
+    }
+
+    /**
+     * @return the synthetic root node that holds the top-level windows
+     */
+    public SnapshotNode getRoot() {
+        return root;
+    }
+
+    /**
+     * @return the raw page source this snapshot was parsed from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Checks whether a locator can be evaluated against a snapshot.
+     *
+     * @param locator the locator to check
+     * @return true if {@link #findAll(By)} can answer for this locator
+     */
+    public static boolean supports(By locator) {
+        return query(locator).isPresent();
+    }
+
+    /**
+     * Finds every node matching the locator.
+     *
+     * @param locator an {@code AppiumBy.androidUIAutomator}, {@code AppiumBy.id} or {@code AppiumBy.className} locator
+     * @return matching nodes in document order
+     * @throws UnsupportedSelectorException if the locator cannot be evaluated locally
+     */
+    public List<SnapshotNode> findAll(By locator) {
+        UiSelectorQuery q = query(locator).orElseThrow(() ->
+                new UnsupportedSelectorException("Locator cannot be evaluated on a snapshot: " + locator));
+        return q.select(root);
+    }
+
+    /**
+     * Finds the first node matching the locator.
+     *
+     * @param locator the locator to evaluate
+     * @return the first match, or empty if nothing matches
+     * @throws UnsupportedSelectorException if the locator cannot be evaluated locally
+     */
+    public Optional<SnapshotNode> find(By locator) {
+        List<SnapshotNode> all = findAll(locator);
+        return all.isEmpty() ? Optional.empty() : Optional.of(all.get(0));
+    }
+
+    /**
+     * Checks whether a displayed node matches the locator.
+     *
+     * @param locator the locator to evaluate
+     * @return true if at least one matching node is displayed
+     * @throws UnsupportedSelectorException if the locator cannot be evaluated locally
+     */
+    public boolean isVisible(By locator) {
+        for (SnapshotNode node : findAll(locator)) {
+            if (node.isDisplayed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Optional<UiSelectorQuery> query(By locator) {
+        synchronized (QUERY_CACHE) {
+            Optional<UiSelectorQuery> cached = QUERY_CACHE.get(locator);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Optional<UiSelectorQuery> parsed = Optional.ofNullable(UiSelectorQuery.fromLocator(locator));
+        synchronized (QUERY_CACHE) {
+            QUERY_CACHE.put(locator, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Least recently used locators are dropped once the cache is full: pages build locators
+     * per bug ID or date, so caching every one would keep them all for the life of the JVM.
+     */
+    private static final class QueryCache extends LinkedHashMap<By, Optional<UiSelectorQuery>> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        QueryCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<By, Optional<UiSelectorQuery>> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * SAX handler that builds the node tree, keeping only the queried attributes.
+     */
+    private static final class TreeBuilder extends DefaultHandler {
+        private final Deque<SnapshotNode> stack = new ArrayDeque<>();
+        private SnapshotNode root;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attrs) {
+            SnapshotNode parent = stack.peek();
+            String className = attrs.getValue("class");
+            int flags = flag(attrs, "checkable", SnapshotNode.CHECKABLE)
+                    | flag(attrs, "checked", SnapshotNode.CHECKED)
+                    | flag(attrs, "clickable", SnapshotNode.CLICKABLE)
+                    | flag(attrs, "enabled", SnapshotNode.ENABLED)
+                    | flag(attrs, "focused", SnapshotNode.FOCUSED)
+                    | flag(attrs, "scrollable", SnapshotNode.SCROLLABLE)
+                    | flag(attrs, "selected", SnapshotNode.SELECTED)
+                    | ("false".equals(attrs.getValue("displayed")) ? 0 : SnapshotNode.DISPLAYED);
+
+            SnapshotNode node = new SnapshotNode(
+                    parent,
+                    parent == null ? 0 : intOrZero(attrs.getValue("index")),
+                    className != null ? className : qName,
+                    orEmpty(attrs.getValue("text")),
+                    orEmpty(attrs.getValue("resource-id")),
+                    orEmpty(attrs.getValue("content-desc")),
+                    flags,
+                    parseBounds(attrs.getValue("bounds")));
+            if (root == null) {
+                root = node;
+            }
+            stack.push(node);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            stack.pop();
+        }
+
+        private static int flag(Attributes attrs, String name, int bit) {
+            return "true".equals(attrs.getValue(name)) ? bit : 0;
+        }
+
+        private static String orEmpty(String s) {
+            return s == null ? "" : s;
+        }
+
+        private static int intOrZero(String s) {
+            try {
+                return s == null ? 0 : Integer.parseInt(s);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        /**
+         * Parses bounds of the form {@code [left,top][right,bottom]}.
+         */
+        private static int[] parseBounds(String bounds) {
+            int[] result = new int[4];
+            if (bounds == null) {
+                return result;
+            }
+            int n = 0, value = 0;
+            boolean inNumber = false, negative = false;
+            for (int i = 0; i < bounds.length() && n < 4; i++) {
+                char c = bounds.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    inNumber = true;
+                } else if (c == '-') {
+                    negative = true;
+                } else if (inNumber) {
+                    result[n++] = negative ? -value : value;
+                    value = 0;
+                    inNumber = false;
+                    negative = false;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package framework.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One element of a parsed UiAutomator2 hierarchy.
+ * Holds only the attributes the framework queries on, plus links to parent and children.
+ */
+public final class SnapshotNode {
+    private final SnapshotNode parent;
+    private final List<SnapshotNode> children = new ArrayList<>();
+    private final int index;
+    private final String className;
+    private final String text;
+    private final String resourceId;
+    private final String contentDesc;
+    private final int flags;
+    private final int left, top, right, bottom;
+
+    static final int CHECKABLE = 1;
+    static final int CHECKED = 1 << 1;
+    static final int CLICKABLE = 1 << 2;
+    static final int ENABLED = 1 << 3;
+    static final int FOCUSED = 1 << 4;
+    static final int SCROLLABLE = 1 << 5;
+    static final int SELECTED = 1 << 6;
+    static final int DISPLAYED = 1 << 7;
+
+    SnapshotNode(SnapshotNode parent, int index, String className, String text, String resourceId,
+                 String contentDesc, int flags, int[] bounds) {
+        this.parent = parent;
+        this.index = index;
+        this.className = className;
+        this.text = text;
+        this.resourceId = resourceId;
+        this.contentDesc = contentDesc;
+        this.flags = flags;
+        this.left = bounds[0];
+        this.top = bounds[1];
+        this.right = bounds[2];
+        this.bottom = bounds[3];
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    public SnapshotNode getParent() {
+        return parent;
+    }
+
+    public List<SnapshotNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * @return the position of this node among its parent's children
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the node's text, or an empty string if it has none
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the node's resource ID, or an empty string if it has none
+     */
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * @return the node's content description, or an empty string if it has none
+     */
+    public String getContentDesc() {
+        return contentDesc;
+    }
+
+    public boolean isCheckable() {
+        return (flags & CHECKABLE) != 0;
+    }
+
+    public boolean isChecked() {
+        return (flags & CHECKED) != 0;
+    }
+
+    public boolean isClickable() {
+        return (flags & CLICKABLE) != 0;
+    }
+
+    public boolean isEnabled() {
+        return (flags & ENABLED) != 0;
+    }
+
+    public boolean isFocused() {
+        return (flags & FOCUSED) != 0;
+    }
+
+    public boolean isScrollable() {
+        return (flags & SCROLLABLE) != 0;
+    }
+
+    public boolean isSelected() {
+        return (flags & SELECTED) != 0;
+    }
+
+    /**
+     * @return true unless the hierarchy explicitly marked the node as not displayed
+     */
+    public boolean isDisplayed() {
+        return (flags & DISPLAYED) != 0;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    public int getCenterX() {
+        return (left + right) / 2;
+    }
+
+    public int getCenterY() {
+        return (top + bottom) / 2;
+    }
+
+    public int getHeight() {
+        return bottom - top;
+    }
+
+    /**
+     * Collects all descendants of this node in document order, excluding the node itself.
+     *
+     * @return the list of descendants
+     */
+    public List<SnapshotNode> descendants() {
+        List<SnapshotNode> result = new ArrayList<>();
+        collectDescendants(this, result);
+        return result;
+    }
+
+    private static void collectDescendants(SnapshotNode node, List<SnapshotNode> out) {
+        for (SnapshotNode child : node.children) {
+            out.add(child);
+            collectDescendants(child, out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return className
+                + (resourceId.isEmpty() ? "" : " id=" + resourceId)
+                + (text.isEmpty() ? "" : " text='" + text + "'")
+                + " [" + left + "," + top + "][" + right + "," + bottom + "]";
+    }
+}
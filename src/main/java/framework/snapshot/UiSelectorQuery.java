@@ -0,0 +1,385 @@
+package framework.snapshot;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A UiSelector expression compiled for local evaluation against a {@link PageSnapshot}.
+ * Supports the subset of the UiAutomator UiSelector API the page objects build:
+ * text, textContains, textStartsWith, textMatches, description*, resourceId, className,
+ * checked, checkable, clickable, enabled, focused, scrollable, selected, index, instance,
+ * childSelector and fromParent. Anything else (e.g. UiScrollable) is rejected at parse time
+ * so callers can fall back to the live driver.
+ */
+public final class UiSelectorQuery {
+    private static final String ANDROID_UIAUTOMATOR = "-android uiautomator";
+
+    private final List<Predicate<SnapshotNode>> predicates;
+    private final Integer instance;
+    private final UiSelectorQuery child;
+    private final UiSelectorQuery fromParent;
+
+    private UiSelectorQuery(List<Predicate<SnapshotNode>> predicates, Integer instance,
+                            UiSelectorQuery child, UiSelectorQuery fromParent) {
+        this.predicates = predicates;
+        this.instance = instance;
+        this.child = child;
+        this.fromParent = fromParent;
+    }
+
+    /**
+     * Compiles a UiSelector expression such as {@code new UiSelector().text("Home")}.
+     *
+     * @param expression the UiSelector Java expression
+     * @return the compiled query
+     * @throws UnsupportedSelectorException if the expression uses unsupported syntax or methods
+     */
+    public static UiSelectorQuery parse(String expression) {
+        Parser parser = new Parser(expression);
+        UiSelectorQuery query = parser.parseSelector();
+        parser.skipWhitespace();
+        if (parser.peek() == ';') {
+            parser.pos++;
+        }
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw parser.error("Unexpected trailing input");
+        }
+        return query;
+    }
+
+    /**
+     * Compiles the query equivalent of a locator, if it has one.
+     * Handles {@code AppiumBy.androidUIAutomator}, {@code AppiumBy.id} and {@code AppiumBy.className}.
+     *
+     * @param locator the locator to convert
+     * @return the compiled query, or null if the locator cannot be evaluated locally
+     */
+    public static UiSelectorQuery fromLocator(By locator) {
+        String expression = toUiSelectorExpression(locator);
+        if (expression == null) {
+            return null;
+        }
+        try {
+            return parse(expression);
+        } catch (UnsupportedSelectorException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the UiSelector expression a locator is equivalent to.
+     *
+     * @param locator the locator to convert
+     * @return the UiSelector expression, or null if the locator has no UiSelector form
+     */
+    public static String toUiSelectorExpression(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters params = ((By.Remotable) locator).getRemoteParameters();
+        String using = params.using();
+        String value = String.valueOf(params.value());
+        switch (using) {
+            case ANDROID_UIAUTOMATOR:
+                return value;
+            case "id":
+                return "new UiSelector().resourceId(" + quote(value) + ")";
+            case "class name":
+                return "new UiSelector().className(" + quote(value) + ")";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Evaluates the query against a hierarchy.
+     *
+     * @param root the root node of the hierarchy
+     * @return matching nodes in document order
+     */
+    public List<SnapshotNode> select(SnapshotNode root) {
+        return select(root.descendants());
+    }
+
+    private List<SnapshotNode> select(List<SnapshotNode> candidates) {
+        List<SnapshotNode> matches = new ArrayList<>();
+        for (SnapshotNode node : candidates) {
+            if (matches(node)) {
+                matches.add(node);
+            }
+        }
+        if (instance != null) {
+            matches = instance < matches.size() ? List.of(matches.get(instance)) : List.of();
+        }
+        if (child == null && fromParent == null) {
+            return matches;
+        }
+
+        Set<SnapshotNode> result = new LinkedHashSet<>();
+        for (SnapshotNode match : matches) {
+            if (child != null) {
+                result.addAll(child.select(match.descendants()));
+            }
+            if (fromParent != null && match.getParent() != null) {
+                result.addAll(fromParent.select(match.getParent().descendants()));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private boolean matches(SnapshotNode node) {
+        for (Predicate<SnapshotNode> p : predicates) {
+            if (!p.test(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Recursive-descent parser for UiSelector expressions.
+     */
+    private static final class Parser {
+        private final String src;
+        private int pos;
+
+        Parser(String src) {
+            this.src = src;
+        }
+
+        UiSelectorQuery parseSelector() {
+            skipWhitespace();
+            expectWord("new");
+            skipWhitespace();
+            String type = readIdentifier();
+            if (!type.equals("UiSelector")) {
+                throw error("Only UiSelector expressions can be evaluated locally, found " + type);
+            }
+            expect('(');
+            expect(')');
+
+            List<Predicate<SnapshotNode>> predicates = new ArrayList<>();
+            Integer instance = null;
+            UiSelectorQuery child = null;
+            UiSelectorQuery fromParent = null;
+
+            while (true) {
+                skipWhitespace();
+                if (peek() != '.') {
+                    break;
+                }
+                pos++;
+                String method = readIdentifier();
+                expect('(');
+                skipWhitespace();
+                switch (method) {
+                    case "childSelector":
+                        child = parseSelector();
+                        break;
+                    case "fromParent":
+                        fromParent = parseSelector();
+                        break;
+                    case "instance":
+                        instance = readInt();
+                        break;
+                    case "index": {
+                        int index = readInt();
+                        predicates.add(n -> n.getIndex() == index);
+                        break;
+                    }
+                    default:
+                        predicates.add(parsePredicate(method));
+                }
+                expect(')');
+            }
+            return new UiSelectorQuery(predicates, instance, child, fromParent);
+        }
+
+        private Predicate<SnapshotNode> parsePredicate(String method) {
+            switch (method) {
+                case "text": {
+                    String v = readString();
+                    return n -> n.getText().equals(v);
+                }
+                case "textContains": {
+                    String v = readString();
+                    return n -> n.getText().contains(v);
+                }
+                case "textStartsWith": {
+                    String v = readString();
+                    return n -> n.getText().startsWith(v);
+                }
+                case "textMatches": {
+                    Pattern p = readPattern();
+                    return n -> p.matcher(n.getText()).matches();
+                }
+                case "description": {
+                    String v = readString();
+                    return n -> n.getContentDesc().equals(v);
+                }
+                case "descriptionContains": {
+                    String v = readString();
+                    return n -> n.getContentDesc().contains(v);
+                }
+                case "descriptionStartsWith": {
+                    String v = readString();
+                    return n -> n.getContentDesc().startsWith(v);
+                }
+                case "descriptionMatches": {
+                    Pattern p = readPattern();
+                    return n -> p.matcher(n.getContentDesc()).matches();
+                }
+                case "resourceId": {
+                    String v = readString();
+                    return n -> n.getResourceId().equals(v);
+                }
+                case "resourceIdMatches": {
+                    Pattern p = readPattern();
+                    return n -> p.matcher(n.getResourceId()).matches();
+                }
+                case "className": {
+                    String v = readString();
+                    return n -> n.getClassName().equals(v);
+                }
+                case "classNameMatches": {
+                    Pattern p = readPattern();
+                    return n -> p.matcher(n.getClassName()).matches();
+                }
+                case "checked": {
+                    boolean v = readBoolean();
+                    return n -> n.isChecked() == v;
+                }
+                case "checkable": {
+                    boolean v = readBoolean();
+                    return n -> n.isCheckable() == v;
+                }
+                case "clickable": {
+                    boolean v = readBoolean();
+                    return n -> n.isClickable() == v;
+                }
+                case "enabled": {
+                    boolean v = readBoolean();
+                    return n -> n.isEnabled() == v;
+                }
+                case "focused": {
+                    boolean v = readBoolean();
+                    return n -> n.isFocused() == v;
+                }
+                case "scrollable": {
+                    boolean v = readBoolean();
+                    return n -> n.isScrollable() == v;
+                }
+                case "selected": {
+                    boolean v = readBoolean();
+                    return n -> n.isSelected() == v;
+                }
+                default:
+                    throw error("Unsupported UiSelector method: " + method);
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (!atEnd()) {
+                char c = src.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c == '\\' && !atEnd()) {
+                    char next = src.charAt(pos++);
+                    sb.append(next == 'n' ? '\n' : next == 't' ? '\t' : next);
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw error("Unterminated string literal");
+        }
+
+        /** Reads a regular expression argument; one Java cannot compile is left for the device to report. */
+        private Pattern readPattern() {
+            String regex = readString();
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw error("Invalid regular expression '" + regex + "': " + e.getDescription());
+            }
+        }
+
+        private int readInt() {
+            skipWhitespace();
+            int start = pos;
+            while (!atEnd() && Character.isDigit(peek())) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Expected integer");
+            }
+            return Integer.parseInt(src.substring(start, pos));
+        }
+
+        private boolean readBoolean() {
+            String word = readIdentifier();
+            if (word.equals("true")) return true;
+            if (word.equals("false")) return false;
+            throw error("Expected boolean, found " + word);
+        }
+
+        private String readIdentifier() {
+            skipWhitespace();
+            int start = pos;
+            while (!atEnd() && Character.isJavaIdentifierPart(peek())) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Expected identifier");
+            }
+            return src.substring(start, pos);
+        }
+
+        private void expectWord(String word) {
+            String found = readIdentifier();
+            if (!found.equals(word)) {
+                throw error("Expected '" + word + "', found '" + found + "'");
+            }
+        }
+
+        private void expect(char c) {
+            skipWhitespace();
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+        }
+
+        char peek() {
+            return atEnd() ? '\0' : src.charAt(pos);
+        }
+
+        boolean atEnd() {
+            return pos >= src.length();
+        }
+
+        UnsupportedSelectorException error(String message) {
+            return new UnsupportedSelectorException(message + " at position " + pos + " in: " + src);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package framework.snapshot;
+
+/**
+ * Thrown when a locator cannot be evaluated against a page snapshot and has to go to the device.
+ */
+public class UnsupportedSelectorException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message description of the unsupported construct and where it occurred
+     */
+    public UnsupportedSelectorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,169 @@
+package framework.trace;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes trace events to their files on one background thread, so a traced test only queues small event objects.
+ * Files use the Chrome trace "JSON array" format; the closing bracket is optional in that format,
+ * so a file cut short by a crash still opens.
+ */
+final class TraceWriter {
+    private static final Logger logger = LoggerFactory.getLogger(TraceWriter.class);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** One trace event. ph is the Chrome phase: B(egin), E(nd) or M(etadata). */
+    static final class Event {
+        final char ph;
+        final String category;
+        final String name;
+        final long tsMicros;
+        final long tid;
+        final String detail;
+
+        Event(char ph, String category, String name, long tsMicros, long tid, String detail) {
+            this.ph = ph;
+            this.category = category;
+            this.name = name;
+            this.tsMicros = tsMicros;
+            this.tid = tid;
+            this.detail = detail;
+        }
+    }
+
+    /** An open trace file. Only the writer thread touches the generator. */
+    final class TraceFile {
+        private final Path path;
+        private JsonGenerator out;
+        private boolean failed;
+
+        private TraceFile(Path path) {
+            this.path = path;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        void emit(Event event) {
+            submit(() -> write(event));
+        }
+
+        void close() {
+            submit(this::finish);
+        }
+
+        private void write(Event e) {
+            if (failed) return;
+            try {
+                if (out == null) {
+                    Files.createDirectories(path.toAbsolutePath().getParent());
+                    out = JSON.createGenerator(path.toFile(), JsonEncoding.UTF8);
+                    out.writeStartArray();
+                }
+                out.writeStartObject();
+                out.writeStringField("ph", String.valueOf(e.ph));
+                out.writeStringField("name", e.name);
+                if (e.category != null) out.writeStringField("cat", e.category);
+                out.writeNumberField("ts", e.tsMicros);
+                out.writeNumberField("pid", 1);
+                out.writeNumberField("tid", e.tid);
+                if (e.detail != null) {
+                    out.writeObjectFieldStart("args");
+                    out.writeStringField(e.ph == 'M' ? "name" : "detail", e.detail);
+                    out.writeEndObject();
+                }
+                out.writeEndObject();
+            } catch (IOException ex) {
+                failed = true;
+                logger.warn("Failed to write trace {}: {}", path, ex.getMessage());
+            }
+        }
+
+        private void finish() {
+            open.remove(this);
+            if (out == null) return;
+            try {
+                out.writeEndArray();
+                out.close();
+                logger.info("Wrote trace {}", path);
+            } catch (IOException ex) {
+                logger.warn("Failed to close trace {}: {}", path, ex.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "trace-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Set<TraceFile> open = ConcurrentHashMap.newKeySet();
+
+    TraceWriter() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "trace-flush"));
+    }
+
+    /** Events arriving after the JVM started exiting are dropped rather than failing the test that sent them. */
+    private void submit(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Trace writer stopped - event dropped");
+        }
+    }
+
+    TraceFile open(Path path) {
+        TraceFile file = new TraceFile(path);
+        open.add(file);
+        return file;
+    }
+
+    /**
+     * Waits until every event queued so far is written.
+     *
+     * @param timeout how long to wait
+     * @return true if the queue drained in time
+     */
+    boolean flush(Duration timeout) {
+        try {
+            executor.submit(() -> { }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /** Closes the files of tests still running when the JVM exits, so they end with a valid array. */
+    private void shutdown() {
+        for (TraceFile file : open) {
+            file.close();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package framework.trace;
+
+import framework.utils.Config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Records a per-test timeline of nested spans - page actions, waits, scrolls and driver commands -
+ * and writes it as a Chrome trace file that chrome://tracing or Perfetto (ui.perfetto.dev) can open.
+ * Tracing is per thread: spans are recorded only between {@link #startTest} and {@link #endTest}
+ * on the same thread, and cost a ThreadLocal lookup otherwise. Spans nest by scope:
+ * <pre>{@code
+ * return Tracer.call(Tracer.ACTION, "ViewBugsPage.editBugById", id, () -> {
+ *     ...
+ * });
+ * }</pre>
+ * Events are formatted and written by a background thread. Enabled with trace.enabled=true;
+ * files go to trace.dir (default build/reports/traces), one per test.
+ */
+public final class Tracer {
+    public static final String ACTION = "action";
+    public static final String WAIT = "wait";
+    public static final String SCROLL = "scroll";
+    public static final String COMMAND = "command";
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final Span NOOP = new Span(null, null, null);
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static volatile TraceWriter writer;
+
+    private Tracer() {}
+
+    /** A timed region of a test; closing it ends the span and any span opened inside it that is still open. */
+    public static final class Span implements AutoCloseable {
+        private final Trace trace;
+        private final String category;
+        private final String name;
+
+        private Span(Trace trace, String category, String name) {
+            this.trace = trace;
+            this.category = category;
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            if (trace != null) {
+                trace.end(this);
+            }
+        }
+    }
+
+    /** The open trace of one thread's test. */
+    private static final class Trace {
+        private final TraceWriter.TraceFile file;
+        private final long tid = Thread.currentThread().getId();
+        private final Deque<Span> open = new ArrayDeque<>();
+
+        Trace(TraceWriter.TraceFile file) {
+            this.file = file;
+        }
+
+        Span begin(String category, String name, String detail) {
+            Span span = new Span(this, category, name);
+            open.push(span);
+            file.emit(new TraceWriter.Event('B', category, name, now(), tid, detail));
+            return span;
+        }
+
+        void end(Span span) {
+            if (!open.contains(span)) {
+                return;
+            }
+            Span top;
+            do {
+                top = open.pop();
+                file.emit(new TraceWriter.Event('E', top.category, top.name, now(), tid, null));
+            } while (top != span);
+        }
+
+        void close() {
+            while (!open.isEmpty()) {
+                end(open.peekLast());
+            }
+            file.close();
+        }
+    }
+
+    /**
+     * Starts tracing the current thread's test if trace.enabled is set.
+     *
+     * @param testName name of the test, used for the file name and the timeline's track
+     */
+    public static void startTest(String testName) {
+        if (!Config.getBoolean("trace.enabled", false)) {
+            return;
+        }
+        String dir = Config.getOrNull("trace.dir");
+        start(Paths.get(dir == null || dir.isBlank() ? "build/reports/traces" : dir.trim())
+                .resolve(testName.replaceAll("[^A-Za-z0-9._-]", "_") + ".json"), testName);
+    }
+
+    /**
+     * Starts tracing the current thread into a file, replacing any trace the thread has open.
+     *
+     * @param file the trace file to write
+     * @param testName name shown for the thread's track
+     */
+    public static void start(Path file, String testName) {
+        endTest();
+        Trace trace = new Trace(writer().open(file));
+        trace.file.emit(new TraceWriter.Event('M', null, "thread_name", now(), trace.tid, testName));
+        CURRENT.set(trace);
+    }
+
+    /**
+     * Ends the current thread's trace, closing any spans left open, e.g. by a failed assertion.
+     */
+    public static void endTest() {
+        Trace trace = CURRENT.get();
+        if (trace != null) {
+            CURRENT.remove();
+            trace.close();
+        }
+    }
+
+    /**
+     * @return true if the current thread is being traced
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Opens a span on the current thread.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers, e.g. "CreateBugPage.submit"
+     * @return the span to close when the region ends; a no-op span when the thread is not traced
+     */
+    public static Span span(String category, String name) {
+        Trace trace = CURRENT.get();
+        return trace == null ? NOOP : trace.begin(category, name, null);
+    }
+
+    /**
+     * Opens a span with a detail, such as a locator, shown in the trace viewer.
+     * The detail is only turned into a string when the thread is traced.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers
+     * @param detail extra information about the span
+     * @return the span to close when the region ends
+     */
+    public static Span span(String category, String name, Object detail) {
+        Trace trace = CURRENT.get();
+        return trace == null ? NOOP : trace.begin(category, name, String.valueOf(detail));
+    }
+
+    /**
+     * Runs an action inside a span.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers
+     * @param action the traced code
+     */
+    public static void run(String category, String name, Runnable action) {
+        Span span = span(category, name);
+        try {
+            action.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Runs an action inside a span with a detail, such as a locator.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers
+     * @param detail extra information about the span
+     * @param action the traced code
+     */
+    public static void run(String category, String name, Object detail, Runnable action) {
+        Span span = span(category, name, detail);
+        try {
+            action.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Computes a value inside a span.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers
+     * @param action the traced code
+     * @param <T> the value's type
+     * @return the value the action returned
+     */
+    public static <T> T call(String category, String name, Supplier<T> action) {
+        Span span = span(category, name);
+        try {
+            return action.get();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Computes a value inside a span with a detail, such as a locator.
+     *
+     * @param category one of ACTION, WAIT, SCROLL or COMMAND
+     * @param name what the span covers
+     * @param detail extra information about the span
+     * @param action the traced code
+     * @param <T> the value's type
+     * @return the value the action returned
+     */
+    public static <T> T call(String category, String name, Object detail, Supplier<T> action) {
+        Span span = span(category, name, detail);
+        try {
+            return action.get();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Waits until all events recorded so far are written, e.g. before reading a trace file.
+     *
+     * @param timeout how long to wait
+     * @return true if everything was written in time
+     */
+    public static boolean flush(Duration timeout) {
+        return writer().flush(timeout);
+    }
+
+    private static long now() {
+        return (System.nanoTime() - ORIGIN) / 1000;
+    }
+
+    private static TraceWriter writer() {
+        TraceWriter w = writer;
+        if (w == null) {
+            synchronized (Tracer.class) {
+                if (writer == null) {
+                    writer = new TraceWriter();
+                }
+                w = writer;
+            }
+        }
+        return w;
+    }
+}
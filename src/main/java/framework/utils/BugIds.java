@@ -0,0 +1,22 @@
+package framework.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates bug IDs that are unique across all threads of a test run.
+ * IDs are numeric and based on the current time, so they also stay unique
+ * across runs, but two calls never return the same value even within one millisecond.
+ */
+public final class BugIds {
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private BugIds() {}
+
+    /**
+     * @return a new numeric bug ID, strictly greater than any previously returned one
+     */
+    public static String next() {
+        long id = LAST.updateAndGet(last -> Math.max(System.currentTimeMillis(), last + 1));
+        return String.valueOf(id);
+    }
+}
@@ -51,6 +51,31 @@ public final class Config {
         return Integer.parseInt(get(key));
     }
 
+    /**
+     * Retrieves an optional configuration value as an integer.
+     *
+     * @param key the property key to look up
+     * @param defaultValue the value to return if the key doesn't exist
+     * @return the property value parsed as an integer, or the default if the key is missing
+     * @throws NumberFormatException if the value cannot be parsed as an integer
+     */
+    public static int getInt(String key, int defaultValue) {
+        String v = getOrNull(key);
+        return v == null ? defaultValue : Integer.parseInt(v);
+    }
+
+    /**
+     * Retrieves an optional configuration value as a boolean.
+     *
+     * @param key the property key to look up
+     * @param defaultValue the value to return if the key doesn't exist
+     * @return true if the value is "true" (case insensitive), the default if the key is missing
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String v = getOrNull(key);
+        return v == null ? defaultValue : v.equalsIgnoreCase("true");
+    }
+
     /**
      * Retrieves an optional configuration value by key.
      *
@@ -0,0 +1,52 @@
+package tests;
+
+import framework.base.AdaptiveWait;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveWaitTests {
+    private final AdaptiveWait wait = new AdaptiveWait(null);
+
+    @Test
+    @DisplayName("A condition that is already true returns after one poll")
+    void immediateSuccess() {
+        assertEquals("ok", wait.until(d -> "ok", Duration.ofSeconds(5)));
+        assertEquals(1, wait.getLastPolls());
+        assertTrue(wait.getLastElapsed().toMillis() < 50);
+    }
+
+    @Test
+    @DisplayName("NoSuchElementException counts as not yet and polling continues")
+    void ignoresNotFound() {
+        AtomicInteger calls = new AtomicInteger();
+        Boolean result = wait.until(d -> {
+            if (calls.incrementAndGet() < 3) throw new NoSuchElementException("not yet");
+            return true;
+        }, Duration.ofSeconds(5));
+
+        assertTrue(result);
+        assertEquals(3, wait.getLastPolls());
+        assertTrue(wait.getLastElapsed().toMillis() < 500, "fast initial polling expected");
+    }
+
+    @Test
+    @DisplayName("Backoff keeps the poll count low on a negative wait")
+    void timesOutWithBackoff() {
+        assertThrows(TimeoutException.class, () -> wait.until(d -> false, Duration.ofSeconds(1)));
+
+        // 50, 75, 112, 168, 253, 379 ms... reaches 1 s in about 6-7 polls instead of 20 at a fixed 50 ms
+        assertTrue(wait.getLastPolls() <= 8, "polls: " + wait.getLastPolls());
+        assertTrue(wait.getLastElapsed().toMillis() >= 1000);
+        assertFalse(wait.isMet(d -> null, Duration.ofMillis(100)));
+    }
+}
@@ -0,0 +1,104 @@
+package tests;
+
+import framework.seeding.AppDataSnapshot;
+import framework.seeding.DeviceShell;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.fake.LocalDeviceShell;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppDataSnapshotTests {
+    private static final String PACKAGE = "com.atidcollege.bugtracker";
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    @DisplayName("Restore puts back changed, deleted and added files in one shell call")
+    void restoresCapturedState(@TempDir Path root) throws IOException {
+        LocalDeviceShell shell = new LocalDeviceShell(root);
+        Path data = shell.dataDir(PACKAGE);
+        write(data.resolve("files/bugs.json"), "[{\"id\":\"1001\"}]");
+        write(data.resolve("shared_prefs/app.xml"), "<map/>");
+        write(data.resolve("cache/tmp.bin"), "scratch");
+
+        AppDataSnapshot snapshot = AppDataSnapshot.capture(shell, PACKAGE, AppDataSnapshot.DEFAULT_DIRS);
+        assertTrue(snapshot.size() > 0);
+
+        write(data.resolve("files/bugs.json"), "[{\"id\":\"1001\"},{\"id\":\"2002\"}]");
+        Files.delete(data.resolve("shared_prefs/app.xml"));
+        write(data.resolve("databases/bugs.db"), "created by the test");
+        write(data.resolve("cache/tmp.bin"), "changed");
+
+        int before = shell.commands().size();
+        snapshot.restore();
+        assertEquals(before + 1, shell.commands().size());
+
+        assertEquals("[{\"id\":\"1001\"}]", Files.readString(data.resolve("files/bugs.json")));
+        assertEquals("<map/>", Files.readString(data.resolve("shared_prefs/app.xml")));
+        assertFalse(Files.exists(data.resolve("databases")), "directories absent at capture are removed");
+        assertEquals("changed", Files.readString(data.resolve("cache/tmp.bin")), "unlisted directories are left alone");
+
+        snapshot.restore();
+        assertEquals("[{\"id\":\"1001\"}]", Files.readString(data.resolve("files/bugs.json")));
+    }
+
+    @Test
+    @DisplayName("A snapshot of an app with no data restores to no data")
+    void emptySnapshot(@TempDir Path root) throws IOException {
+        LocalDeviceShell shell = new LocalDeviceShell(root);
+        AppDataSnapshot snapshot = AppDataSnapshot.capture(shell, PACKAGE, List.of("files", "databases"));
+        assertEquals(0, snapshot.size());
+
+        write(shell.dataDir(PACKAGE).resolve("files/bugs.json"), "[]");
+        snapshot.restore();
+        assertFalse(Files.exists(shell.dataDir(PACKAGE).resolve("files")));
+    }
+
+    @Test
+    @DisplayName("Directory names are quoted for the device shell")
+    void quotesDirectories(@TempDir Path root) throws IOException {
+        LocalDeviceShell shell = new LocalDeviceShell(root);
+        write(shell.dataDir(PACKAGE).resolve("app_web view/Local Storage"), "kept");
+        write(shell.dataDir(PACKAGE).resolve("files/x"), "not in the snapshot");
+
+        AppDataSnapshot snapshot = AppDataSnapshot.capture(shell, PACKAGE, List.of("app_web view"));
+        Files.writeString(shell.dataDir(PACKAGE).resolve("app_web view/Local Storage"), "changed");
+        snapshot.restore();
+
+        assertEquals("kept", Files.readString(shell.dataDir(PACKAGE).resolve("app_web view/Local Storage")));
+        assertTrue(Files.exists(shell.dataDir(PACKAGE).resolve("files/x")));
+        assertThrows(IllegalArgumentException.class, () -> AppDataSnapshot.capture(shell, PACKAGE, List.of()));
+    }
+
+    @Test
+    @DisplayName("A copy that comes back empty while the directories exist fails instead of wiping data on restore")
+    void emptyCopyOfExistingDataFails(@TempDir Path root) throws IOException {
+        LocalDeviceShell local = new LocalDeviceShell(root);
+        write(local.dataDir(PACKAGE).resolve("files/bugs.json"), "[]");
+        // tar that prints nothing, as when the device's tar is missing or its output gets lost
+        DeviceShell broken = (pkg, command, stdin) -> local.runAs(pkg, command.replace("tar -cf -", "true"), stdin);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> AppDataSnapshot.capture(broken, PACKAGE, List.of("files", "databases")));
+        assertTrue(e.getMessage().contains("files"), e.getMessage());
+
+        // Reads the copy like tar would, so writing it does not race a closed pipe, then fails
+        DeviceShell failingUnpack = (pkg, command, stdin) ->
+                local.runAs(pkg, command.replace("tar -xf -", "cat > /dev/null && false"), stdin);
+        AppDataSnapshot snapshot = AppDataSnapshot.capture(failingUnpack, PACKAGE, List.of("files"));
+        assertThrows(IllegalStateException.class, snapshot::restore, "a failed unpack is reported");
+    }
+}
@@ -0,0 +1,116 @@
+package tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import framework.seeding.AppFileBugStore;
+import framework.seeding.BugRecord;
+import framework.seeding.BugSeeder;
+import framework.seeding.DeviceShell;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BugSeederTests {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PACKAGE = "com.atidcollege.bugtracker";
+
+    /** Stands in for adb: keeps the app's bug file in memory and records every command. */
+    static final class FakeDeviceShell implements DeviceShell {
+        final List<String> commands = new ArrayList<>();
+        byte[] file;
+
+        @Override
+        public byte[] runAs(String appPackage, String command, byte[] stdin) {
+            assertEquals(PACKAGE, appPackage);
+            commands.add(command);
+            if (stdin != null) {
+                file = stdin;
+                return new byte[0];
+            }
+            return file == null ? new byte[0] : file;
+        }
+
+        JsonNode stored() throws IOException {
+            return MAPPER.readTree(file);
+        }
+    }
+
+    private final FakeDeviceShell shell = new FakeDeviceShell();
+    private final BugSeeder seeder = new BugSeeder(new AppFileBugStore(shell, PACKAGE, "files/bugs.json"));
+
+    @Test
+    @DisplayName("Seeding into an empty store writes the bug array through run-as")
+    void seedsIntoEmptyStore() throws IOException {
+        seeder.seed(BugRecord.builder().id("1760000000001").title("Crash on save").status("Open").build());
+
+        JsonNode stored = shell.stored();
+        assertEquals(1, stored.size());
+        assertEquals("Crash on save", stored.get(0).get("title").asText());
+        assertFalse(stored.get(0).has("fixedBy"), "unset fields are omitted");
+        assertEquals("mkdir -p 'files' && cat > 'files/bugs.json'", shell.commands.get(shell.commands.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Seeding merges by ID and keeps fields of other stored bugs")
+    void mergesById() throws IOException {
+        shell.file = ("[{\"id\":1,\"title\":\"Old\",\"attachment\":\"a.png\"},"
+                + "{\"id\":\"2\",\"title\":\"Replace me\"}]").getBytes(StandardCharsets.UTF_8);
+
+        seeder.seed(BugRecord.builder().id("2").title("Replaced").build(),
+                BugRecord.builder().id("3").title("New").build());
+
+        JsonNode stored = shell.stored();
+        assertEquals(3, stored.size());
+        assertEquals("a.png", stored.get(0).get("attachment").asText());
+        assertEquals("Replaced", stored.get(1).get("title").asText());
+        assertEquals(Set.of("1", "2", "3"), seeder.storedIds());
+    }
+
+    @Test
+    @DisplayName("Bugs are read from a JSON file and get generated IDs when none is given")
+    void readsJsonAndGeneratesIds() throws IOException {
+        List<BugRecord> bugs;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("seed/bugs.json")) {
+            bugs = BugSeeder.readRecords(in);
+        }
+        BugRecord generated = BugRecord.builder().title("No ID").build();
+
+        assertEquals(2, bugs.size());
+        assertEquals("Search ignores case (ID: 1760000000101)", bugs.get(0).listEntry());
+        assertEquals("05/10/2025", bugs.get(1).getDateClosed());
+        assertTrue(generated.getId().matches("\\d{13,}"));
+    }
+
+    @Test
+    @DisplayName("Removing seeded bugs rewrites the store without them")
+    void removesBugs() throws IOException {
+        seeder.seed(BugRecord.builder().id("10").title("Keep").build(),
+                BugRecord.builder().id("11").title("Drop").build());
+
+        seeder.remove(List.of("11", "99"));
+
+        assertEquals(Set.of("10"), seeder.storedIds());
+        assertEquals(1, shell.stored().size());
+    }
+
+    @Test
+    @DisplayName("A store that is not a JSON array is never overwritten")
+    void refusesUnexpectedFormat() {
+        shell.file = "{\"bugs\":[]}".getBytes(StandardCharsets.UTF_8);
+        int before = shell.commands.size();
+
+        assertThrows(IllegalStateException.class, () -> seeder.seed(BugRecord.builder().title("x").build()));
+        assertEquals(before + 1, shell.commands.size(), "only the read should have run");
+    }
+}
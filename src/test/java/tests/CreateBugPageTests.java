@@ -1,6 +1,7 @@
 package tests;
 
 import framework.pages.CreateBugPage;
+import framework.pages.Screen;
 import io.appium.java_client.AppiumBy;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,49 +16,54 @@ class CreateBugPageTests extends BaseTest {
     @Test
     @DisplayName("Create a bug with all fields")
     void createBugWithAllFields() {
-        CreateBugPage createBugPage = new CreateBugPage (driver, TIMEOUT);
-        if (!createBugPage.assertOnPage()){
-            // Navigate from HomePage to CreateBugPage
-            assertTrue(getHomePage().assertOnPage(), "Should start on HomePage");
+        String bugId = remember("bugId", this::generateUniqueBugId);
+        String bugTitle = "Best band?";
 
-            getHomePage().clickCreateBug();
-        }
-        assertTrue(getCreateBugPage().assertOnPage(), "Create Bug page should be visible");
+        // Once saved the bug outlives a failure, so a rerun can resume from the bug list
+        checkpoint("Create the bug", Screen.VIEW_BUGS, () -> {
+            CreateBugPage createBugPage = new CreateBugPage (driver, TIMEOUT);
+            if (!createBugPage.assertOnPage()){
+                // Navigate from HomePage to CreateBugPage
+                assertTrue(getHomePage().assertOnPage(), "Should start on HomePage");
 
-        String bugId = generateUniqueBugId();
-        String bugTitle = "Best band?";
+                getHomePage().clickCreateBug();
+            }
+            assertTrue(getCreateBugPage().assertOnPage(), "Create Bug page should be visible");
+
+            // Fill out the bug form
+            getCreateBugPage()
+                    .enterBugId(bugId)
+                    .pickDate("01/09/2017")
+                    .enterTitle(bugTitle)
+                    .enterSteps("1. Take a deep breath \n2. Cry")
+                    .enterExpected("Dire Straits!")
+                    .enterActual("Hatikva 6")
+                    .setStatus("Not a Bug")
+                    .setSeverity("Trivial")
+                    .setPriority("Critical")
+                    .setDetectedBy("Joe Biden")
+                    .setFixedBy("Donald J. Trump")
+                    .pickDateClosed(today())
+                    .submit();
+
+            // Navigate to ViewBugsPage
+            getCreateBugPage().clickViewBugs();
+            assertTrue(getViewBugsPage().assertOnPage(), "Should navigate to ViewBugs page");
+        });
 
+        step("Find the bug in the list", () -> {
+            getViewBugsPage().clickButtonAll();
+            getViewBugsPage().searchForBugs(bugTitle);
+            getViewBugsPage().scrollIntoViewIfNeeded(
+                    AppiumBy.androidUIAutomator("new UiSelector().textContains(\"(ID: " + bugId + "\")")
+            );
 
-        // Fill out the bug form
-        getCreateBugPage()
-                .enterBugId(bugId)
-                .pickDate("01/09/2017")
-                .enterTitle(bugTitle)
-                .enterSteps("1. Take a deep breath \n2. Cry")
-                .enterExpected("Dire Straits!")
-                .enterActual("Hatikva 6")
-                .setStatus("Not a Bug")
-                .setSeverity("Trivial")
-                .setPriority("Critical")
-                .setDetectedBy("Joe Biden")
-                .setFixedBy("Donald J. Trump")
-                .pickDateClosed(today())
-                .submit();
-
-        // Navigate to ViewBugsPage and verify the bug was created
-        getCreateBugPage().clickViewBugs();
-        assertTrue(getViewBugsPage().assertOnPage(), "Should navigate to ViewBugs page");
-
-        getViewBugsPage().clickButtonAll();
-        getViewBugsPage().searchForBugs(bugTitle);
-        getViewBugsPage().scrollIntoViewIfNeeded(
-                AppiumBy.androidUIAutomator("new UiSelector().textContains(\"(ID: " + bugId + "\")")
-        );
-
-        waitFor(1000);
-
-        getViewBugsPage().editBugById(bugId);
-        assertTrue(getEditBugPage().assertOnPage(), "Edit page should be visible for the created bug");
+            waitForUiIdle();
+        });
 
+        step("Open the bug for editing", () -> {
+            getViewBugsPage().editBugById(bugId);
+            assertTrue(getEditBugPage().assertOnPage(), "Edit page should be visible for the created bug");
+        });
     }
 }
\ No newline at end of file
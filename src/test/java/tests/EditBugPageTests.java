@@ -1,6 +1,9 @@
 package tests;
 
+import framework.pages.Screen;
+import framework.seeding.BugRecord;
 import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
@@ -10,38 +13,66 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EditBugPageTests extends BaseTest {
 
+    @Override
+    protected Screen startScreen() {
+        return Screen.VIEW_BUGS;
+    }
+
+    /** Fixed so a rerun replaces the seeded bug instead of adding another one. */
+    private static final String SEEDED_BUG_ID = "9000000000001";
+
+    private boolean seeded;
+
+    @AfterEach
+    void removeSeededBug() {
+        if (seeded) {
+            removeSeededBugs(SEEDED_BUG_ID);
+        }
+    }
 
     @Test
     @DisplayName("Edits an existing bug, changes status of an existing bug")
     void editBug() {
         // String bugId = "314"; // Use this to edit a specific bug by ID
 
-        // Navigate to ViewBugsPage
-        assertTrue(getHomePage().assertOnPage(), "Home page should be visible");
-        getHomePage().clickViewBugs();
+        // Make sure there is a bug to edit without going through the Create Bug form
+        seeded = seedingConfigured();
+        if (seeded) {
+            seedBugs(BugRecord.builder()
+                    .id(SEEDED_BUG_ID)
+                    .title("Seeded bug for editing")
+                    .status("Open").severity("Minor").priority("Low")
+                    .date(today())
+                    .build());
+        }
+
         assertTrue(getViewBugsPage().assertOnPage(), "View Bug page should be visible");
 
         // Wait a moment for page to fully load
-        waitFor(500);
+        waitForUiIdle();
 
         // Get all bugs and ensure at least one exists
         getViewBugsPage().clickButtonAll();
 
         // Give time for filter to apply
-        waitFor(500);
+        waitForUiIdle();
 
-        String[] bugList = getViewBugsPage().getBugList();
+        String bugId;
+        if (seeded) {
+            bugId = SEEDED_BUG_ID;
+        } else {
+            String[] bugList = getViewBugsPage().getBugList();
 
-        // If no bugs found, fail with clear message
-        if (bugList.length == 0) {
-            throw new AssertionError("No bugs found in the list - create at least one bug before running this test");
-        }
+            // If no bugs found, fail with clear message
+            if (bugList.length == 0) {
+                throw new AssertionError("No bugs found in the list - create at least one bug before running this test");
+            }
 
-        // Extract the ID from the first bug in the list
-        String firstBug = bugList[0];
-        String bugId = extractBugId(firstBug);
+            // Extract the ID from the first bug in the list
+            bugId = extractBugId(bugList[0]);
+        }
 
-        // Find and edit the first bug
+        // Find and edit the bug
         getViewBugsPage().scrollIntoViewIfNeeded(
                 AppiumBy.androidUIAutomator("new UiSelector().textContains(\"(ID: " + bugId + "\")")
         );
@@ -66,7 +97,7 @@ public class EditBugPageTests extends BaseTest {
 
         // Verify the change was saved
         assertTrue(getViewBugsPage().assertOnPage(), "View Bug page should be visible after save");
-        waitFor(500);
+        waitForUiIdle();
 
         // Find the bug in the bug list
         getViewBugsPage().scrollIntoViewIfNeeded(
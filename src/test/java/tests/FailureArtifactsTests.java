@@ -0,0 +1,74 @@
+package tests;
+
+import framework.artifacts.FailureArtifacts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailureArtifactsTests {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    private static FailureArtifacts.Capture capture(String test) {
+        return new FailureArtifacts.Capture(test, Base64.getEncoder().encodeToString(PNG), "<hierarchy/>",
+                Map.of("logcat", List.of(new LogEntry(Level.INFO, 0L, "app started"))),
+                List.of("server log: not supported"));
+    }
+
+    @Test
+    @DisplayName("A capture is written as one zip with screenshot, page source, logs and fetch errors")
+    void writesZip(@TempDir Path dir) throws IOException {
+        FailureArtifacts artifacts = new FailureArtifacts(dir, 1, 4, List.of("logcat"), 2000);
+        assertTrue(artifacts.submit(capture("CreateBugPageTests.createBug")));
+        artifacts.shutdown(Duration.ofSeconds(10));
+
+        List<Path> zips;
+        try (Stream<Path> files = Files.list(dir)) {
+            zips = files.collect(Collectors.toList());
+        }
+        assertEquals(1, zips.size());
+        assertTrue(zips.get(0).getFileName().toString().startsWith("CreateBugPageTests.createBug-"));
+        try (ZipFile zip = new ZipFile(zips.get(0).toFile())) {
+            assertArrayEquals(PNG, zip.getInputStream(zip.getEntry("screenshot.png")).readAllBytes());
+            assertEquals("<hierarchy/>", new String(
+                    zip.getInputStream(zip.getEntry("page-source.xml")).readAllBytes(), StandardCharsets.UTF_8));
+            assertTrue(new String(zip.getInputStream(zip.getEntry("logcat.log")).readAllBytes(),
+                    StandardCharsets.UTF_8).contains("INFO app started"));
+            assertTrue(zip.getEntry("errors.txt") != null);
+        }
+    }
+
+    @Test
+    @DisplayName("Captures beyond the queue are dropped and counted instead of blocking")
+    void dropsWhenQueueIsFull(@TempDir Path dir) {
+        FailureArtifacts artifacts = new FailureArtifacts(dir, 1, 1, List.of(), 2000);
+        List<Boolean> queued = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            queued.add(artifacts.submit(capture("burst" + i)));
+        }
+        artifacts.shutdown(Duration.ofSeconds(10));
+
+        long accepted = queued.stream().filter(q -> q).count();
+        assertTrue(artifacts.getDropped() > 0, artifacts.stats());
+        assertEquals(50, accepted + artifacts.getDropped());
+        assertEquals(accepted, artifacts.getWritten());
+    }
+}
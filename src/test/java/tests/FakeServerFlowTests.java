@@ -0,0 +1,113 @@
+package tests;
+
+import framework.base.ElementCache;
+import framework.pages.CreateBugPage;
+import framework.pages.EditBugPage;
+import framework.pages.Navigator;
+import framework.pages.Screen;
+import framework.pages.ViewBugsPage;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tests.fake.FakeAppiumServer;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the page objects against the in-process fake Appium server, so flows can be timed
+ * and their round trips counted without a device. Each command is delayed by
+ * {@code -Pfake.latencyMs} (default 5 ms) to stand in for the device round trip.
+ */
+class FakeServerFlowTests {
+    private static final Logger logger = LoggerFactory.getLogger(FakeServerFlowTests.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+    private long start;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeAppiumServer().latency(Duration.ofMillis(Long.getLong("fake.latencyMs", 5)));
+        server.model().addBug("1001", "Login button does nothing", "Open");
+        server.model().addBug("1002", "Crash on rotate", "Fixed");
+        server.model().addBug("1003", "Typo on home page", "Closed");
+        driver = new AndroidDriver(new URL(server.url()), new UiAutomator2Options().setDeviceName("fake"));
+        server.resetStats();
+        start = System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown(TestInfo info) {
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("{}: {} round trips in {} ms ({} ms injected) {}", info.getDisplayName(),
+                server.roundTrips(), elapsedMs, server.simulatedTime().toMillis(), server.commandCounts());
+        ElementCache.forgetSession(driver.getSessionId());
+        driver.quit();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("View Bugs lists every stored bug")
+    void viewBugList() {
+        Navigator navigator = new Navigator(driver, TIMEOUT);
+        assertTrue(navigator.navigateTo(Screen.VIEW_BUGS));
+        assertFalse(navigator.navigateTo(Screen.VIEW_BUGS), "already there - nothing to do");
+
+        ViewBugsPage viewBugs = new ViewBugsPage(driver, TIMEOUT);
+        String[] bugs = viewBugs.clickButtonAll().getBugList();
+
+        assertEquals(List.of("Login button does nothing (ID: 1001)", "Crash on rotate (ID: 1002)",
+                "Typo on home page (ID: 1003)"), List.of(bugs));
+    }
+
+    @Test
+    @DisplayName("Create Bug form stores a bug, including dates from the date picker")
+    void createBug() {
+        new Navigator(driver, TIMEOUT).navigateTo(Screen.CREATE_BUG);
+
+        new CreateBugPage(driver, TIMEOUT)
+                .enterBugId("2001")
+                .pickDate("15/03/2019")
+                .enterTitle("Search ignores case")
+                .enterSteps("Search for LOGIN")
+                .setStatus("Fixed")
+                .setPriority("High")
+                .setDetectedBy("QA")
+                .submit();
+
+        Map<String, String> bug = server.model().bug("2001");
+        assertEquals("Search ignores case", bug.get("title"));
+        assertEquals("15/03/2019", bug.get("date"));
+        assertEquals("Fixed", bug.get("status"));
+        assertEquals("High", bug.get("priority"));
+        assertEquals("QA", bug.get("detectedBy"));
+    }
+
+    @Test
+    @DisplayName("Navigator reaches View Bugs from Home, the bug opens by ID and saving updates it")
+    void editBug() {
+        new Navigator(driver, TIMEOUT).navigateTo(Screen.VIEW_BUGS);
+        new ViewBugsPage(driver, TIMEOUT).editBugById("1001");
+
+        EditBugPage edit = new EditBugPage(driver, TIMEOUT);
+        assertTrue(edit.assertOnPage(), "Edit Bug page should be visible");
+        edit.enterTitle("Login button does nothing on tablets").save();
+
+        assertEquals(Screen.VIEW_BUGS, server.model().screen());
+        assertEquals("Login button does nothing on tablets", server.model().bug("1001").get("title"));
+    }
+}
@@ -0,0 +1,79 @@
+package tests;
+
+import framework.metrics.CommandLatency;
+import framework.metrics.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTests {
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125,
+                "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    @DisplayName("Percentiles are reported within one bucket width of the true value")
+    void percentilesWithinBucketWidth() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) {
+            h.record(ms * 1_000_000L);
+        }
+
+        assertEquals(1000, h.getCount());
+        assertWithin(500_000, h.percentileMicros(0.50));
+        assertWithin(950_000, h.percentileMicros(0.95));
+        assertWithin(990_000, h.percentileMicros(0.99));
+        assertEquals(1_000_000, h.getMaxMicros());
+        assertEquals(1_000_000, h.percentileMicros(1.0));
+    }
+
+    @Test
+    @DisplayName("Small values are exact and an empty histogram reports zero")
+    void smallAndEmpty() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentileMicros(0.5));
+
+        h.record(3_000);
+        h.record(5_000);
+        assertEquals(3, h.percentileMicros(0.5));
+        assertEquals(5, h.percentileMicros(0.99));
+    }
+
+    @Test
+    @DisplayName("Merged histograms keep counts, totals and maximum")
+    void merge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10_000_000);
+        b.record(20_000_000);
+        b.record(30_000_000);
+
+        a.add(b);
+
+        assertEquals(3, a.getCount());
+        assertEquals(60_000, a.getTotalMicros());
+        assertEquals(30_000, a.getMaxMicros());
+        assertWithin(20_000, a.percentileMicros(0.5));
+    }
+
+    @Test
+    @DisplayName("Summary lists the command with the most total time first")
+    void summaryOrder() {
+        LatencyHistogram find = new LatencyHistogram();
+        LatencyHistogram source = new LatencyHistogram();
+        find.record(5_000_000);
+        source.record(200_000_000);
+
+        String[] lines = CommandLatency.summary(Map.of("findElement", find, "getPageSource", source)).split("\n");
+
+        assertTrue(lines[0].startsWith("command"));
+        assertTrue(lines[1].startsWith("getPageSource"));
+        assertTrue(lines[2].startsWith("findElement"));
+    }
+}
@@ -0,0 +1,39 @@
+package tests;
+
+import framework.pages.Navigator;
+import framework.pages.Screen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NavigatorTests {
+
+    @Test
+    @DisplayName("Screens on the navigation bar are one hop from anywhere")
+    void navigationBarIsOneHop() {
+        assertEquals(List.of(Screen.CREATE_BUG, Screen.VIEW_BUGS),
+                Navigator.shortestPath(Screen.CREATE_BUG, Screen.VIEW_BUGS));
+        assertEquals(List.of(Screen.EDIT_BUG, Screen.HOME),
+                Navigator.shortestPath(Screen.EDIT_BUG, Screen.HOME));
+    }
+
+    @Test
+    @DisplayName("Edit Bug can be left but has no route in, since the test picks the bug")
+    void editBugHasNoRouteIn() {
+        assertEquals(List.of(Screen.EDIT_BUG, Screen.VIEW_BUGS),
+                Navigator.shortestPath(Screen.EDIT_BUG, Screen.VIEW_BUGS));
+        assertTrue(Navigator.shortestPath(Screen.VIEW_BUGS, Screen.EDIT_BUG).isEmpty());
+        assertTrue(Navigator.shortestPath(Screen.HOME, Screen.EDIT_BUG).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Staying on the same screen takes no transitions and UNKNOWN has no routes")
+    void trivialAndUnreachable() {
+        assertEquals(List.of(Screen.HOME), Navigator.shortestPath(Screen.HOME, Screen.HOME));
+        assertTrue(Navigator.shortestPath(Screen.UNKNOWN, Screen.HOME).isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package tests;
+
+import framework.pages.ViewBugsPage;
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.SnapshotNode;
+import framework.snapshot.UiSelectorQuery;
+import framework.snapshot.UnsupportedSelectorException;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageSnapshotTests {
+    private static PageSnapshot snapshot;
+
+    @BeforeAll
+    static void loadSnapshot() throws IOException {
+        snapshot = PageSnapshot.parse(resource("snapshots/view-bugs.xml"));
+    }
+
+    static String resource(String name) throws IOException {
+        try (InputStream in = PageSnapshotTests.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException(name + " not found on classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Matches the selectors page objects build with textElement() and resourceId()")
+    void matchesTextAndResourceId() {
+        assertTrue(snapshot.isVisible(AppiumBy.androidUIAutomator("new UiSelector().text(\"View Bugs\")")));
+        assertTrue(snapshot.isVisible(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"viewBugsPage\")")));
+        assertTrue(snapshot.isVisible(AppiumBy.id("searchInput")));
+        assertFalse(snapshot.isVisible(AppiumBy.androidUIAutomator("new UiSelector().text(\"Add Bug\")")));
+    }
+
+    @Test
+    @DisplayName("textContains with fromParent finds the button in the same row")
+    void fromParentFindsSiblingInRow() {
+        List<SnapshotNode> edit = snapshot.findAll(AppiumBy.androidUIAutomator(
+                "new UiSelector().textContains(\"(ID: 1760000000002\")" +
+                        ".fromParent(new UiSelector().text(\"Edit\"))"));
+
+        assertEquals(1, edit.size());
+        assertEquals(882, edit.get(0).getTop());
+    }
+
+    @Test
+    @DisplayName("className and checked filter dropdown items")
+    void classNameAndChecked() {
+        SnapshotNode checked = snapshot.find(AppiumBy.androidUIAutomator(
+                "new UiSelector().className(\"android.widget.CheckedTextView\").checked(true)")).orElseThrow();
+
+        assertEquals("Open", checked.getText());
+    }
+
+    @Test
+    @DisplayName("childSelector and instance narrow the match set")
+    void childSelectorAndInstance() {
+        List<String> rows = snapshot.findAll(AppiumBy.androidUIAutomator(
+                        "new UiSelector().resourceId(\"bugList\")" +
+                                ".childSelector(new UiSelector().className(\"android.widget.TextView\").textContains(\"(ID:\"))"))
+                .stream().map(SnapshotNode::getText).collect(Collectors.toList());
+        SnapshotNode second = snapshot.find(AppiumBy.androidUIAutomator(
+                "new UiSelector().text(\"Edit\").instance(1)")).orElseThrow();
+
+        assertEquals(List.of("Best band? (ID: 1760000000001)", "Login \"fails\" (ID: 1760000000002)",
+                "Hidden row (ID: 1760000000003)"), rows);
+        assertEquals(882, second.getTop());
+    }
+
+    @Test
+    @DisplayName("Escaped quotes in string literals match the node text")
+    void escapedQuotes() {
+        assertTrue(snapshot.isVisible(AppiumBy.androidUIAutomator(
+                "new UiSelector().text(\"Login \\\"fails\\\" (ID: 1760000000002)\")")));
+    }
+
+    @Test
+    @DisplayName("Nodes marked displayed=false are found but not visible")
+    void hiddenNodesAreNotVisible() {
+        By hidden = AppiumBy.androidUIAutomator("new UiSelector().textContains(\"Hidden row\")");
+
+        assertEquals(1, snapshot.findAll(hidden).size());
+        assertFalse(snapshot.isVisible(hidden));
+    }
+
+    @Test
+    @DisplayName("Bug list rows and IDs are read from one snapshot")
+    void bugListRowsFromSnapshot() {
+        List<String> rows = ViewBugsPage.visibleBugRows(snapshot,
+                AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"bugList\")"));
+
+        assertEquals(List.of("Best band? (ID: 1760000000001)", "Login \"fails\" (ID: 1760000000002)"), rows);
+        assertEquals("1760000000002", ViewBugsPage.extractId(rows.get(1)));
+    }
+
+    @Test
+    @DisplayName("UiScrollable expressions are rejected so callers fall back to the driver")
+    void rejectsUiScrollable() {
+        By scrollable = AppiumBy.androidUIAutomator(
+                "new UiScrollable(new UiSelector().scrollable(true)).scrollIntoView(new UiSelector().text(\"Open\"))");
+
+        assertFalse(PageSnapshot.supports(scrollable));
+        assertNull(UiSelectorQuery.fromLocator(scrollable));
+        assertThrows(UnsupportedSelectorException.class, () -> snapshot.findAll(scrollable));
+    }
+
+    @Test
+    @DisplayName("An invalid regular expression falls back to the driver instead of failing the lookup")
+    void rejectsInvalidRegex() {
+        By broken = AppiumBy.androidUIAutomator("new UiSelector().textMatches(\"Bug (ID\")");
+
+        assertNull(UiSelectorQuery.fromLocator(broken));
+        assertFalse(PageSnapshot.supports(broken));
+        assertThrows(UnsupportedSelectorException.class, () -> snapshot.findAll(broken));
+    }
+}
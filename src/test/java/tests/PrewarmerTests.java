@@ -0,0 +1,147 @@
+package tests;
+
+import framework.driver.Prewarmer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrewarmerTests {
+    private static final Duration LONG = Duration.ofSeconds(10);
+
+    private final List<String> discarded = new CopyOnWriteArrayList<>();
+
+    private Prewarmer<String> prewarmer(Supplier<String> builder, int maxWarm, Duration wait, Duration maxAge) {
+        return new Prewarmer<>(builder, discarded::add, maxWarm, wait, maxAge);
+    }
+
+    private static void awaitTrue(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + LONG.toNanos();
+        while (!condition.get()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("A resource warmed in the background is handed over once")
+    void handsOverWarmResource() {
+        AtomicInteger built = new AtomicInteger();
+        Prewarmer<String> warm = prewarmer(() -> "session-" + built.incrementAndGet(), 1, LONG, LONG);
+
+        assertNull(warm.take());
+        assertTrue(warm.warm());
+        assertFalse(warm.warm(), "one warm-up per thread");
+        assertEquals("session-1", warm.take());
+        assertNull(warm.take());
+        assertTrue(warm.warm(), "slot is free again after handover");
+        assertEquals("session-2", warm.take());
+        assertTrue(discarded.isEmpty());
+    }
+
+    @Test
+    @DisplayName("No more than maxWarm resources are warming across threads")
+    void boundsParallelism() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Prewarmer<String> warm = prewarmer(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "session";
+        }, 1, LONG, LONG);
+
+        assertTrue(warm.warm());
+        AtomicBoolean otherStarted = new AtomicBoolean(true);
+        Thread other = new Thread(() -> otherStarted.set(warm.warm()));
+        other.start();
+        other.join();
+        assertFalse(otherStarted.get());
+
+        release.countDown();
+        assertEquals("session", warm.take());
+    }
+
+    @Test
+    @DisplayName("A warm-up not ready in time is abandoned and discarded when it finishes")
+    void discardsLateResource() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Prewarmer<String> warm = prewarmer(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        }, 1, Duration.ofMillis(50), LONG);
+
+        assertTrue(warm.warm());
+        assertNull(warm.take());
+        assertFalse(warm.warm(), "slot stays taken while the abandoned warm-up runs");
+
+        release.countDown();
+        awaitTrue(() -> discarded.contains("late"));
+        awaitTrue(warm::warm);
+    }
+
+    @Test
+    @DisplayName("A failed warm-up hands over nothing and frees its slot")
+    void failedWarmUp() throws Exception {
+        Prewarmer<String> warm = prewarmer(() -> {
+            throw new IllegalStateException("server down");
+        }, 1, LONG, LONG);
+
+        assertTrue(warm.warm());
+        assertNull(warm.take());
+        assertTrue(warm.warm());
+        assertTrue(discarded.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A warm-up that found nothing to build does not block the next one")
+    void retriesAfterEmptyWarmUp() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        // The first attempt runs while the only device is still held by the calling thread
+        Prewarmer<String> warm = prewarmer(() -> calls.incrementAndGet() == 1 ? null : "session", 1, LONG, LONG);
+
+        assertTrue(warm.warm());
+        awaitTrue(warm::warm);
+        assertEquals("session", warm.take());
+        assertEquals(2, calls.get());
+        assertTrue(discarded.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A warm resource older than maxAge is discarded instead of handed over")
+    void discardsExpiredResource() throws Exception {
+        Prewarmer<String> warm = prewarmer(() -> "stale", 1, LONG, Duration.ofMillis(20));
+
+        assertTrue(warm.warm());
+        Thread.sleep(200);
+        assertNull(warm.take());
+        assertEquals(List.of("stale"), discarded);
+    }
+
+    @Test
+    @DisplayName("Shutdown discards warm resources")
+    void shutdownDiscards() throws Exception {
+        Prewarmer<String> warm = prewarmer(() -> "idle", 1, LONG, LONG);
+
+        assertTrue(warm.warm());
+        Thread.sleep(100);
+        warm.shutdown();
+        awaitTrue(() -> discarded.contains("idle"));
+    }
+}
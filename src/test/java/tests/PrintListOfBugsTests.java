@@ -1,5 +1,6 @@
 package tests;
 
+import framework.pages.Screen;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import tests.base.BaseTest;
@@ -8,12 +9,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PrintListOfBugsTests extends BaseTest {
 
+    @Override
+    protected Screen startScreen() {
+        return Screen.VIEW_BUGS;
+    }
+
     @Test
     @DisplayName("Print all of the bug list")
     void printAllBugs() throws InterruptedException {
-        assertTrue(getHomePage().assertOnPage(), "Home page should be visible");
-
-        getHomePage().clickViewBugs();
         assertTrue(getViewBugsPage().assertOnPage(), "View Bug page should be visible");
 
         getViewBugsPage().clickButtonAll();
@@ -21,7 +24,7 @@ public class PrintListOfBugsTests extends BaseTest {
         int timesToScroll = 3;
         for (int i = 0; i < timesToScroll; i++) {
             getViewBugsPage().getBugList();
-            getViewBugsPage().scroll("down");
+            if (!getViewBugsPage().scroll("down")) break;
         }
 
         String[] bugList = getViewBugsPage().getBugList();
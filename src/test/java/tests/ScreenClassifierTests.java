@@ -0,0 +1,44 @@
+package tests;
+
+import framework.pages.Screen;
+import framework.pages.ScreenClassifier;
+import framework.snapshot.PageSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScreenClassifierTests {
+
+    private static PageSnapshot screen(String content) {
+        return PageSnapshot.parse("<hierarchy><android.webkit.WebView class=\"android.webkit.WebView\" bounds=\"[0,63][1080,2400]\">"
+                + content + "</android.webkit.WebView></hierarchy>");
+    }
+
+    @Test
+    @DisplayName("The View Bugs fixture is classified as VIEW_BUGS")
+    void viewBugsFixture() throws IOException {
+        assertEquals(Screen.VIEW_BUGS, ScreenClassifier.classify(
+                PageSnapshot.parse(PageSnapshotTests.resource("snapshots/view-bugs.xml"))));
+    }
+
+    @Test
+    @DisplayName("Form screens are recognized by their headings")
+    void formHeadings() {
+        assertEquals(Screen.CREATE_BUG, ScreenClassifier.classify(
+                screen("<android.widget.TextView class=\"android.widget.TextView\" text=\"Create a Bug\" bounds=\"[0,100][1080,200]\"/>")));
+        assertEquals(Screen.EDIT_BUG, ScreenClassifier.classify(
+                screen("<android.widget.TextView class=\"android.widget.TextView\" text=\"Edit Bug\" bounds=\"[0,100][1080,200]\"/>")));
+    }
+
+    @Test
+    @DisplayName("A signature that is present but not displayed does not count")
+    void hiddenSignatureIsUnknown() {
+        assertEquals(Screen.UNKNOWN, ScreenClassifier.classify(
+                screen("<android.view.View class=\"android.view.View\" resource-id=\"homePage\" displayed=\"false\" bounds=\"[0,63][1080,2400]\"/>")));
+        assertEquals(Screen.HOME, ScreenClassifier.classify(
+                screen("<android.view.View class=\"android.view.View\" resource-id=\"homePage\" bounds=\"[0,63][1080,2400]\"/>")));
+    }
+}
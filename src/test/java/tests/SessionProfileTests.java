@@ -0,0 +1,45 @@
+package tests;
+
+import framework.driver.SessionProfile;
+import framework.driver.SessionStartupBenchmark;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionProfileTests {
+
+    @Test
+    @DisplayName("The fast profile adds the startup and lookup capabilities; the default profile adds none")
+    void fastProfileCapabilities() {
+        UiAutomator2Options plain = SessionProfile.DEFAULT.apply(new UiAutomator2Options());
+        assertNull(plain.getCapability("appium:skipServerInstallation"));
+
+        UiAutomator2Options fast = SessionProfile.FAST.apply(new UiAutomator2Options());
+        assertEquals(true, fast.getCapability("appium:skipServerInstallation"));
+        assertEquals(true, fast.getCapability("appium:skipDeviceInitialization"));
+        assertEquals(true, fast.getCapability("appium:disableWindowAnimation"));
+        assertEquals(true, fast.getCapability("appium:settings[ignoreUnimportantViews]"));
+        assertEquals(500, fast.getCapability("appium:settings[waitForIdleTimeout]"));
+    }
+
+    @Test
+    @DisplayName("The startup summary reports both profiles and the median difference")
+    void startupSummary() {
+        Map<SessionProfile, long[]> millis = new EnumMap<>(SessionProfile.class);
+        millis.put(SessionProfile.DEFAULT, new long[]{9000, 8000, 10000});
+        millis.put(SessionProfile.FAST, new long[]{3000, 4000, 2000, 5000});
+
+        String[] lines = SessionStartupBenchmark.summary(millis).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].matches("default\\s+3\\s+8000\\s+9000\\s+9000\\s+10000"), lines[1]);
+        assertTrue(lines[2].matches("fast\\s+4\\s+2000\\s+3500\\s+3500\\s+5000"), lines[2]);
+        assertEquals("fast vs default: median 5500 ms faster (61%)", lines[3]);
+    }
+}
@@ -0,0 +1,57 @@
+package tests;
+
+import framework.sharding.DurationHistory;
+import framework.sharding.ShardPlanner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardPlannerTests {
+
+    @Test
+    @DisplayName("Longest classes are spread first so workers finish close together")
+    void balancesByDuration() {
+        ShardPlanner plan = new ShardPlanner(Map.of(
+                "tests.A", 70L, "tests.B", 50L, "tests.C", 40L, "tests.D", 30L, "tests.E", 10L), 2);
+
+        assertEquals(List.of("tests.A", "tests.D"), plan.classesOf(0));
+        assertEquals(List.of("tests.B", "tests.C", "tests.E"), plan.classesOf(1));
+        assertEquals(100, plan.loadOf(0));
+        assertEquals(100, plan.loadOf(1));
+    }
+
+    @Test
+    @DisplayName("Every class lands on exactly one shard, including classes without history")
+    void everyClassHasOneShard() {
+        ShardPlanner plan = new ShardPlanner(Map.of("tests.A", 5L, "tests.B", 5L, "tests.C", 5L), 3);
+
+        for (String c : List.of("tests.A", "tests.B", "tests.C", "tests.New")) {
+            int shard = plan.shardOf(c);
+            assertTrue(shard >= 0 && shard < 3, c + " -> " + shard);
+        }
+        assertEquals(plan.shardOf("tests.New"), new ShardPlanner(Map.of(), 3).shardOf("tests.New"),
+                "Unknown classes must be assigned the same way on every worker");
+    }
+
+    @Test
+    @DisplayName("History blends new durations with stored ones and sums them per class")
+    void historyRoundTrip(@TempDir Path dir) {
+        Path file = dir.resolve("durations.json");
+        DurationHistory history = DurationHistory.load(file);
+        history.update(Map.of("tests.A#one()", 1000L, "tests.A#two()", 3000L, "tests.B#one()", 500L));
+        history.save(file);
+
+        DurationHistory reloaded = DurationHistory.load(file);
+        reloaded.update(Map.of("tests.A#one()", 3000L));
+
+        assertEquals(2000L, reloaded.getMillis().get("tests.A#one()"));
+        assertEquals(Map.of("tests.A", 5000L, "tests.B", 500L), reloaded.classTotals());
+    }
+}
@@ -0,0 +1,97 @@
+package tests;
+
+import framework.pages.Screen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.base.StepJournal;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StepJournalTests {
+    private static final String TEST = "tests.Flow.longFlow";
+
+    /** Simulates a run that completes the given steps and then fails. */
+    private static StepJournal failedRun(Path dir, String... checkpointsThenPlain) {
+        StepJournal journal = StepJournal.open(dir, TEST, true, 2);
+        journal.value("bugId", () -> "42");
+        for (String step : checkpointsThenPlain) {
+            if (journal.shouldSkip(step)) continue;
+            journal.completed(step, step.startsWith("save") ? Screen.VIEW_BUGS : null);
+        }
+        return journal;
+    }
+
+    @Test
+    @DisplayName("A rerun skips to the last checkpoint and keeps the recorded values")
+    void resumesFromLastCheckpoint(@TempDir Path dir) {
+        failedRun(dir, "fill form", "save bug", "search");
+
+        StepJournal rerun = StepJournal.open(dir, TEST, true, 2);
+        assertEquals(Screen.VIEW_BUGS, rerun.resumeScreen());
+        assertEquals(List.of("fill form", "save bug"), rerun.skippedSteps());
+        assertEquals("42", rerun.value("bugId", () -> "99"));
+        assertTrue(rerun.shouldSkip("fill form"));
+        assertTrue(rerun.shouldSkip("save bug"));
+        assertFalse(rerun.shouldSkip("search"));
+    }
+
+    @Test
+    @DisplayName("Without a checkpoint, after too many resumes or when disabled, the test runs in full")
+    void fallsBackToFullRun(@TempDir Path dir) {
+        failedRun(dir, "fill form", "search");
+        assertNull(StepJournal.open(dir, TEST, true, 2).resumeScreen());
+
+        StepJournal.delete(dir, TEST);
+        failedRun(dir, "save bug", "search");
+        failedRun(dir, "save bug", "search");
+        failedRun(dir, "save bug", "search");
+        StepJournal fourth = StepJournal.open(dir, TEST, true, 2);
+        assertNull(fourth.resumeScreen(), "Two resumed runs failed - the third rerun should start over");
+        assertEquals("99", fourth.value("bugId", () -> "99"));
+
+        failedRun(dir, "save bug");
+        assertNull(StepJournal.open(dir, TEST, false, 2).resumeScreen());
+
+        StepJournal.delete(dir, TEST);
+        StepJournal off = StepJournal.open(dir, TEST, false, 2);
+        off.value("bugId", () -> "7");
+        off.completed("save bug", Screen.VIEW_BUGS);
+        assertFalse(Files.exists(dir.resolve(TEST + ".json")), "Nothing is journaled when resuming is off");
+    }
+
+    @Test
+    @DisplayName("A step that no longer matches the journal discards it and the test runs in full")
+    void changedStepsRunInFull(@TempDir Path dir) {
+        failedRun(dir, "fill form", "save bug", "search");
+        StepJournal changed = StepJournal.open(dir, TEST, true, 2);
+        assertTrue(changed.shouldSkip("fill form"));
+        assertFalse(changed.shouldSkip("save bug and list"));
+        assertTrue(changed.resumeDiscarded());
+        assertFalse(changed.shouldSkip("search"), "Nothing is skipped once the journal is discarded");
+        assertEquals("42", changed.value("bugId", () -> "99"), "Values already handed out are kept");
+
+        changed.completed("fill form", null);
+        changed.completed("save bug and list", Screen.VIEW_BUGS);
+        StepJournal rerun = StepJournal.open(dir, TEST, true, 2);
+        assertEquals(List.of("fill form", "save bug and list"), rerun.skippedSteps());
+        assertFalse(rerun.resumeDiscarded());
+    }
+
+    @Test
+    @DisplayName("An abandoned restore discards the journal")
+    void discardsAbandonedResume(@TempDir Path dir) {
+        failedRun(dir, "save bug", "search");
+        StepJournal abandoned = StepJournal.open(dir, TEST, true, 2);
+        abandoned.abandonResume();
+        assertNull(abandoned.resumeScreen());
+        assertFalse(abandoned.shouldSkip("save bug"));
+    }
+}
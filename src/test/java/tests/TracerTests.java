@@ -0,0 +1,119 @@
+package tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import framework.base.ElementCache;
+import framework.pages.ViewBugsPage;
+import framework.trace.Tracer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tests.fake.FakeAppiumServer;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracerTests {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static JsonNode read(Path file) throws IOException {
+        assertTrue(Tracer.flush(Duration.ofSeconds(10)));
+        return MAPPER.readTree(file.toFile());
+    }
+
+    /** Checks that every E closes the latest open B of the same name and returns the B events' names in order. */
+    private static List<String> begins(JsonNode events) {
+        List<String> names = new ArrayList<>();
+        Deque<String> open = new ArrayDeque<>();
+        for (JsonNode e : events) {
+            String ph = e.get("ph").asText();
+            if (ph.equals("B")) {
+                open.push(e.get("name").asText());
+                names.add(e.get("name").asText());
+            } else if (ph.equals("E")) {
+                assertEquals(open.pop(), e.get("name").asText());
+            }
+        }
+        assertTrue(open.isEmpty(), "unclosed spans " + open);
+        return names;
+    }
+
+    @Test
+    @DisplayName("Spans are written as nested begin/end events under a named thread track")
+    void nestedSpans(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("trace.json");
+        Tracer.start(file, "Suite.test");
+        Tracer.run(Tracer.ACTION, "CreateBugPage.submit", () -> {
+            assertTrue(Tracer.call(Tracer.WAIT, "until", "visibility of Add Bug", () -> {
+                Tracer.run(Tracer.COMMAND, "findElement", () -> { });
+                return true;
+            }));
+            Tracer.run(Tracer.SCROLL, "scroll", () -> { });
+        });
+        Tracer.endTest();
+
+        JsonNode events = read(file);
+        assertEquals("M", events.get(0).get("ph").asText());
+        assertEquals("Suite.test", events.get(0).at("/args/name").asText());
+        assertEquals(List.of("CreateBugPage.submit", "until", "findElement", "scroll"), begins(events));
+        assertEquals("visibility of Add Bug", events.get(2).at("/args/detail").asText());
+        assertEquals("wait", events.get(2).get("cat").asText());
+        long last = 0;
+        for (JsonNode e : events) {
+            assertTrue(e.get("ts").asLong() >= last, "timestamps go forward");
+            last = e.get("ts").asLong();
+        }
+    }
+
+    @Test
+    @DisplayName("Spans left open, e.g. by a failed assertion, are closed when the test ends")
+    void closesOpenSpansAtEnd(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("trace.json");
+        Tracer.start(file, "Suite.failing");
+        Tracer.span(Tracer.ACTION, "EditBugPage.save");
+        Tracer.span(Tracer.WAIT, "until");
+        Tracer.endTest();
+
+        assertFalse(Tracer.isActive());
+        assertEquals(List.of("EditBugPage.save", "until"), begins(read(file)));
+        Tracer.run(Tracer.ACTION, "ignored", () -> assertFalse(Tracer.isActive()));
+    }
+
+    @Test
+    @DisplayName("Page actions against the fake server record their waits as child spans")
+    void pageActionsNestWaits(@TempDir Path dir) throws Exception {
+        try (FakeAppiumServer server = new FakeAppiumServer()) {
+            server.model().addBug("1001", "Login button does nothing", "Open");
+            AndroidDriver driver = new AndroidDriver(new URL(server.url()), new UiAutomator2Options().setDeviceName("fake"));
+            Path file = dir.resolve("trace.json");
+            try {
+                driver.findElement(AppiumBy.androidUIAutomator("new UiSelector().text(\"View Bugs\")")).click();
+                Tracer.start(file, "TracerTests.viewBugs");
+                new ViewBugsPage(driver, Duration.ofSeconds(5)).clickButtonAll();
+            } finally {
+                Tracer.endTest();
+                ElementCache.forgetSession(driver.getSessionId());
+                driver.quit();
+            }
+
+            List<String> names = begins(read(file));
+            assertEquals("ViewBugsPage.clickButtonAll", names.get(0));
+            assertTrue(names.contains("click"), names.toString());
+            assertTrue(names.contains("ViewBugsPage.updateBugList"), names.toString());
+            assertTrue(names.contains("until"), names.toString());
+        }
+    }
+}
@@ -1,84 +1,294 @@
 package tests.base;
 
+import framework.base.ElementCache;
+import framework.base.UiSync;
+import framework.driver.Device;
 import framework.driver.DriverFactory;
+import framework.metrics.CommandLatency;
 import framework.pages.CreateBugPage;
 import framework.pages.EditBugPage;
 import framework.pages.HomePage;
+import framework.pages.Navigator;
+import framework.pages.Screen;
 import framework.pages.ViewBugsPage;
+import framework.seeding.AdbShell;
+import framework.seeding.AppDataSnapshot;
+import framework.seeding.BugRecord;
+import framework.seeding.BugSeeder;
+import framework.trace.Tracer;
+import framework.utils.BugIds;
+import framework.utils.Config;
 import io.appium.java_client.android.AndroidDriver;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Base class for all test classes providing common setup, teardown, and utility methods.
  * Manages driver lifecycle and page object initialization.
  * All test classes should extend this class.
+ * Failed tests leave a screenshot, page source and device log via {@link FailureArtifactExtension}.
  */
+@ExtendWith(FailureArtifactExtension.class)
 public abstract class BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
     protected AndroidDriver driver;
     protected static final Duration TIMEOUT = Duration.ofSeconds(15);
     protected static final DateTimeFormatter DMY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Path STEP_JOURNALS = Paths.get("build", "step-journal");
+    private static final int MAX_RESUMES = 2;
+    private static final boolean RESUME = resumeEnabled();
+    /** Baseline app data per device and app, captured before the first test on that device. */
+    private static final Map<String, AppDataSnapshot> APP_DATA = new ConcurrentHashMap<>();
+
+    /** A passing test needs no resume point, so its step journal is dropped. */
+    @RegisterExtension
+    final TestWatcher stepJournalCleanup = new TestWatcher() {
+        @Override
+        public void testSuccessful(ExtensionContext context) {
+            StepJournal.delete(STEP_JOURNALS, testId(context.getRequiredTestClass(), context.getRequiredTestMethod().getName()));
+        }
+    };
 
     private HomePage homePage;
     private CreateBugPage createBugPage;
     private ViewBugsPage viewBugsPage;
     private EditBugPage editBugPage;
+    private StepJournal steps;
+    /** Checkpoint screen this run resumed on, null for a full run. */
+    private Screen resumedOn;
+    /** Steps skipped by a resumed run, kept in case a later step shows the journal is stale. */
+    private final List<Runnable> skippedSteps = new ArrayList<>();
 
     /**
-     * Initializes the driver and ensures the app starts on the home page before each test.
+     * Initializes the driver and takes the app to the test class's start screen before each test.
      */
     @BeforeEach
-    void setUp() {
+    void setUp(TestInfo testInfo) {
         logger.info("=== Starting Test ===");
+        String testName = testInfo.getTestClass().map(Class::getSimpleName).orElse("") + "." + testInfo.getDisplayName();
+        CommandLatency.startTest(testName);
+        Tracer.startTest(testName);
+        steps = StepJournal.open(STEP_JOURNALS,
+                testId(getClass(), testInfo.getTestMethod().map(m -> m.getName()).orElse("")),
+                RESUME, MAX_RESUMES);
         driver = DriverFactory.getDriver();
+        restoreAppData();
         resetPageObjects();
-        ensureHomePage();
+        navigateTo(startScreen());
+        resumeFromCheckpoint();
     }
 
     /**
-     * Quits the driver and resets page objects after each test.
+     * Releases the driver and resets page objects after each test.
+     * Depending on session.reuse the session is either quit or kept with only the app state reset.
      */
     @AfterEach
     void tearDown() {
-        DriverFactory.quitDriver();
-        resetPageObjects();
-        logger.info("=== Test Completed ===");
+        try {
+            DriverFactory.releaseDriver();
+        } finally {
+            // Per-thread test state must not leak into the next test on this worker
+            resetPageObjects();
+            CommandLatency.endTest();
+            Tracer.endTest();
+            logger.info("=== Test Completed ===");
+        }
     }
 
     /**
-     * Ensures the app is on the home page by detecting current page and navigating if needed.
-     * Attempts to identify the current page and click Home, or scrolls up if unrecognized.
+     * Runs a named step of the test. On a rerun that resumes from a later checkpoint, the step is skipped.
+     *
+     * @param name step name, unique within the test
+     * @param action what the step does
      */
-    protected void ensureHomePage() {
-        Duration shortTimeout = Duration.ofSeconds(1);
-        HomePage home = new HomePage(driver, shortTimeout);
-        CreateBugPage create = new CreateBugPage(driver, shortTimeout);
-        ViewBugsPage view = new ViewBugsPage(driver, shortTimeout);
-        EditBugPage edit = new EditBugPage(driver, shortTimeout);
+    protected void step(String name, Runnable action) {
+        runStep(name, null, action);
+    }
+
+    /**
+     * Runs a named step whose result a rerun can resume from: its effect is kept by the app
+     * (e.g. a saved bug) and it leaves the app on the given screen. If the test fails later on,
+     * the next run skips every step up to here and starts on that screen.
+     *
+     * @param name step name, unique within the test
+     * @param leavesOn the screen the app is on when the step is done
+     * @param action what the step does
+     */
+    protected void checkpoint(String name, Screen leavesOn, Runnable action) {
+        runStep(name, leavesOn, action);
+    }
 
-        if (home.assertOnPage()) {
+    /**
+     * Returns a value the test's steps depend on, such as a generated bug ID.
+     * A resumed run gets the value the earlier run used, so skipped steps and the remaining ones agree.
+     *
+     * @param key the value's name
+     * @param value computes the value on a full run
+     * @return the value
+     */
+    protected String remember(String key, Supplier<String> value) {
+        return steps.value(key, value);
+    }
+
+    private void runStep(String name, Screen checkpoint, Runnable action) {
+        if (steps.shouldSkip(name)) {
+            logger.info("Skipping step '{}' - completed by the previous run", name);
+            skippedSteps.add(() -> executeStep(name, checkpoint, action));
+            return;
+        }
+        if (steps.resumeDiscarded() && resumedOn != null) {
+            // The journal no longer matches the test: start over and run the steps skipped so far
+            resumedOn = null;
+            navigateTo(startScreen());
+            skippedSteps.forEach(Runnable::run);
+        }
+        skippedSteps.clear();
+        executeStep(name, checkpoint, action);
+    }
+
+    private void executeStep(String name, Screen checkpoint, Runnable action) {
+        logger.info("Step: {}", name);
+        Tracer.run(Tracer.ACTION, "Step: " + name, action);
+        steps.completed(name, checkpoint);
+    }
+
+    /**
+     * Takes the app to the checkpoint screen a resumed run starts from.
+     * If that fails the checkpoint's state is unusable and the test runs in full instead.
+     */
+    private void resumeFromCheckpoint() {
+        resumedOn = null;
+        skippedSteps.clear();
+        Screen screen = steps.resumeScreen();
+        if (screen == null) {
+            return;
+        }
+        try {
+            navigateTo(screen);
+            resumedOn = screen;
+            logger.info("Resuming on {} - skipping steps {}", screen, steps.skippedSteps());
+        } catch (AssertionError | WebDriverException e) {
+            logger.warn("Could not restore checkpoint screen {} - running in full: {}", screen, e.getMessage());
+            steps.abandonResume();
+            navigateTo(startScreen());
+        }
+    }
+
+    /**
+     * Resuming (steps.resume=true) needs the app data saved by the checkpoint steps to still be there
+     * on the next run, so new sessions must keep it (noReset=true) and nothing may wipe it between
+     * tests (session.reset=clear, appdata.snapshot).
+     *
+     * @return true if a rerun may resume from a checkpoint
+     */
+    private static boolean resumeEnabled() {
+        if (!Config.getBoolean("steps.resume", false)) {
+            return false;
+        }
+        if (!DriverFactory.keepsAppData() || Config.getBoolean("appdata.snapshot", false)) {
+            logger.warn("steps.resume ignored - needs noReset=true, no session.reset=clear and no appdata.snapshot");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * With appdata.snapshot=true, gives every test the same stored app data without reinstalling the app.
+     * Before the first test on a device the bugs in appdata.seedFile (if set) are seeded and the app's
+     * data directories (appdata.dirs, comma separated) are captured; before every later test they are restored.
+     * Needs a debuggable build of the app, like seed.store=file.
+     */
+    private void restoreAppData() {
+        if (!Config.getBoolean("appdata.snapshot", false)) {
             return;
-        } else if (create.assertOnPage()) {
-            create.clickHome();
-        } else if (view.assertOnPage()) {
-            view.clickHome();
-        } else if (edit.assertOnPage()) {
-            edit.clickHome();
+        }
+        String appPackage = DriverFactory.getAppPackage();
+        Device device = DriverFactory.getLeasedDevice();
+        String key = (device == null ? "" : device.getName()) + "/" + appPackage;
+        AppDataSnapshot snapshot = APP_DATA.get(key);
+        if (snapshot == null) {
+            String seedFile = Config.getOrNull("appdata.seedFile");
+            if (seedFile != null && !seedFile.isBlank()) {
+                BugSeeder.forSession(driver).seedFromJson(Paths.get(seedFile.trim()));
+            }
+        }
+
+        // A running app would keep its in-memory state and could write it back over the restored files
+        driver.terminateApp(appPackage);
+        if (snapshot == null) {
+            AdbShell shell = new AdbShell(device == null ? null : device.getUdid());
+            APP_DATA.put(key, AppDataSnapshot.capture(shell, appPackage, appDataDirs()));
         } else {
-            home.scroll("up");
-            home.scroll("up");
-            home.scroll("up");
+            snapshot.restore();
+        }
+        ElementCache.forgetSession(driver.getSessionId());
+        driver.activateApp(appPackage);
+    }
+
+    private static List<String> appDataDirs() {
+        String configured = Config.getOrNull("appdata.dirs");
+        if (configured == null || configured.isBlank()) {
+            return AppDataSnapshot.DEFAULT_DIRS;
         }
+        List<String> dirs = new ArrayList<>();
+        for (String d : configured.split(",")) {
+            if (!d.isBlank()) dirs.add(d.trim());
+        }
+        return dirs;
+    }
+
+    private static String testId(Class<?> testClass, String method) {
+        return testClass.getName() + "." + method;
+    }
+
+    /**
+     * Ensures the app is on the home page, navigating there from whatever screen it is on.
+     */
+    protected void ensureHomePage() {
+        navigateTo(Screen.HOME);
+    }
 
-        waitFor(500);
+    /**
+     * Takes the app to a screen along the fewest transitions from the current one.
+     *
+     * @param screen the screen to end up on
+     */
+    protected void navigateTo(Screen screen) {
+        // Already on the screen: nothing changed, so there is nothing to wait for
+        if (new Navigator(driver, TIMEOUT).navigateTo(screen)) {
+            waitForUiIdle();
+        }
+    }
+
+    /**
+     * The screen each test of this class starts on. Override to start elsewhere than Home,
+     * so tests that work on a single screen do not bounce through the home page first.
+     *
+     * @return the starting screen
+     */
+    protected Screen startScreen() {
+        return Screen.HOME;
     }
 
     /**
@@ -150,12 +360,43 @@ public abstract class BaseTest {
     }
 
     /**
-     * Generates  a unique bug ID based on current timestamp in milliseconds
-     * which makes the test reusable
+     * Generates a unique bug ID based on the current timestamp in milliseconds
+     * which makes the test reusable. Safe to call from parallel test workers.
      * @return a unique bug ID string
      */
     protected String generateUniqueBugId() {
-        return String.valueOf(System.currentTimeMillis());
+        return BugIds.next();
+    }
+
+    /**
+     * Writes bugs straight into the app's storage instead of creating them through the Create Bug form,
+     * then returns to the test class's start screen.
+     *
+     * @param bugs the bugs to store
+     * @return the stored bugs
+     */
+    protected List<BugRecord> seedBugs(BugRecord... bugs) {
+        List<BugRecord> seeded = BugSeeder.forSession(driver).seed(bugs);
+        resetPageObjects();
+        navigateTo(startScreen());
+        return seeded;
+    }
+
+    /**
+     * Removes bugs from the app's storage, e.g. ones a test seeded.
+     *
+     * @param ids IDs of the bugs to remove; unknown IDs are ignored
+     */
+    protected void removeSeededBugs(String... ids) {
+        BugSeeder.forSession(driver).remove(Arrays.asList(ids));
+        resetPageObjects();
+    }
+
+    /**
+     * @return true if seed.store is set in config.properties, i.e. tests may seed bugs instead of creating them
+     */
+    protected static boolean seedingConfigured() {
+        return Config.getOrNull("seed.store") != null;
     }
 
     /**
@@ -168,16 +409,11 @@ public abstract class BaseTest {
     }
 
     /**
-     * Pauses execution for the specified duration.
-     * Used  for timing sensitive operations where explicit waits aren't suitable
-     *
-     * @param milliseconds the duration to wait in milliseconds
+     * Waits until the screen stops changing after an action.
+     * Used for timing sensitive operations where explicit waits aren't suitable;
+     * returns as soon as the hierarchy is stable instead of sleeping a fixed time.
      */
-    protected void waitFor(long milliseconds) {
-        try {
-            Thread.sleep(milliseconds);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    protected void waitForUiIdle() {
+        new UiSync(driver).awaitStable(Duration.ofSeconds(3));
     }
 }
\ No newline at end of file
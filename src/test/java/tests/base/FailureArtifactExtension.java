@@ -0,0 +1,37 @@
+package tests.base;
+
+import framework.artifacts.FailureArtifacts;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+
+/**
+ * Captures failure artifacts for a failed test while its session is still open.
+ * Runs after the test method, or as soon as BaseTest's setUp fails (navigation, seeding, restoring app data),
+ * and in both cases before tearDown releases or quits the driver;
+ * only the raw fetch happens here, writing is left to {@link FailureArtifacts}' background pool.
+ */
+public class FailureArtifactExtension implements AfterTestExecutionCallback, LifecycleMethodExecutionExceptionHandler {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            capture(context);
+        }
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        capture(context);
+        throw throwable;
+    }
+
+    private static void capture(ExtensionContext context) {
+        Object test = context.getRequiredTestInstance();
+        if (!(test instanceof BaseTest) || ((BaseTest) test).driver == null) {
+            return;
+        }
+        FailureArtifacts.getInstance().capture(((BaseTest) test).driver,
+                context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+}
@@ -0,0 +1,108 @@
+package tests.base;
+
+import framework.sharding.DurationHistory;
+import framework.sharding.ShardPlanner;
+import framework.utils.Config;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs only the test classes planned for this worker and records how long each test took.
+ * Registered for every test class, device-free ones included, through extension autodetection
+ * (META-INF/services and junit-platform.properties).
+ * The worker is selected with the shard.index (1-based) and shard.total system properties,
+ * which Gradle sets from -PshardIndex and -PshardTotal; without them every class runs.
+ * Durations of passing tests (setup and teardown included) are merged into the history file named by
+ * shard.history in config.properties when the JVM exits, for the next run's plan.
+ */
+public class ShardExtension implements ExecutionCondition, BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(ShardExtension.class);
+    private static final String START = "shard.start";
+
+    private static final Map<String, Long> MEASURED = new ConcurrentHashMap<>();
+    private static final AtomicBoolean SAVE_SCHEDULED = new AtomicBoolean();
+    private static volatile ShardPlanner plan;
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        int total = Integer.getInteger("shard.total", 1);
+        if (total <= 1 || context.getTestMethod().isPresent() || context.getTestClass().isEmpty()) {
+            return ConditionEvaluationResult.enabled("Not sharded");
+        }
+        int index = Integer.getInteger("shard.index", 1);
+        if (index < 1 || index > total) {
+            throw new IllegalArgumentException("shard.index must be 1.." + total + ", was " + index);
+        }
+        String className = context.getRequiredTestClass().getName();
+        int shard = plan(total).shardOf(className) + 1;
+        return shard == index
+                ? ConditionEvaluationResult.enabled("Planned for shard " + index + "/" + total)
+                : ConditionEvaluationResult.disabled("Planned for shard " + shard + "/" + total);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        store(context).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = store(context).remove(START, Long.class);
+        // A failed test may have stopped early (e.g. no device), so its time says little about the next run
+        if (start == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (SAVE_SCHEDULED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ShardExtension::saveHistory, "duration-history"));
+        }
+        String test = context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName() + "()";
+        MEASURED.put(test, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ShardPlanner plan(int total) {
+        ShardPlanner p = plan;
+        if (p == null) {
+            synchronized (ShardExtension.class) {
+                if (plan == null) {
+                    plan = ShardPlanner.fromHistory(DurationHistory.load(historyFile()), total);
+                    logger.info("Shard plan from {}:\n{}", historyFile(), plan.describe());
+                }
+                p = plan;
+            }
+        }
+        return p;
+    }
+
+    private static void saveHistory() {
+        Path file = historyFile();
+        try {
+            DurationHistory history = DurationHistory.load(file);
+            history.update(MEASURED);
+            history.save(file);
+            logger.info("Recorded {} test duration(s) in {}", MEASURED.size(), file);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record test durations: {}", e.getMessage());
+        }
+    }
+
+    private static Path historyFile() {
+        String configured = Config.getOrNull("shard.history");
+        return Paths.get(configured == null || configured.isBlank()
+                ? "build/test-history/durations.json" : configured.trim());
+    }
+
+    private static ExtensionContext.Store store(ExtensionContext context) {
+        return context.getStore(ExtensionContext.Namespace.create(ShardExtension.class, context.getUniqueId()));
+    }
+}
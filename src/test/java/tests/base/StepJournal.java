@@ -0,0 +1,255 @@
+package tests.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import framework.pages.Screen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Record of the named steps a test has completed, kept on disk so a rerun of a failed test
+ * can skip ahead to the last checkpoint instead of repeating the whole flow.
+ * A checkpoint is a step whose outcome outlives the app's UI state (e.g. a bug saved to the app's
+ * storage) and which leaves the app on a known screen, so returning to that screen restores it.
+ * Plain steps cannot be restored on their own; they are only skipped when a later checkpoint covers them.
+ * Values the steps depend on, such as a generated bug ID, are kept with the steps so a resumed
+ * run sees the same values.
+ */
+public final class StepJournal {
+    private static final Logger logger = LoggerFactory.getLogger(StepJournal.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /** One completed step; screen is null unless the step is a checkpoint. */
+    private static final class Step {
+        final String name;
+        final Screen screen;
+
+        Step(String name, Screen screen) {
+            this.name = name;
+            this.screen = screen;
+        }
+    }
+
+    /** Null when resuming is off: the journal then only lives in memory. */
+    private final Path file;
+    private final List<Step> steps = new ArrayList<>();
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private int resumes;
+    /** Number of leading steps this run skips; 0 for a full run. */
+    private int skipCount;
+    private int position;
+    private boolean discarded;
+
+    private StepJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the journal of a test. If an earlier run of the test failed after reaching a checkpoint,
+     * this run resumes from the last one - unless it has already resumed maxResumes times in a row,
+     * in which case the journal is discarded and the test runs in full.
+     *
+     * @param dir directory holding the journals
+     * @param testId unique name of the test
+     * @param resume false to always run in full; nothing is written to disk then
+     * @param maxResumes how many resumed runs may follow each other before a full rerun
+     * @return the journal
+     */
+    public static StepJournal open(Path dir, String testId, boolean resume, int maxResumes) {
+        StepJournal journal = new StepJournal(resume ? dir.resolve(fileName(testId)) : null);
+        if (resume && Files.isRegularFile(journal.file)) {
+            journal.load();
+            int checkpoint = journal.lastCheckpoint();
+            if (checkpoint < 0) {
+                logger.info("No checkpoint reached by the last run of {} - running in full", testId);
+                journal.reset();
+            } else if (journal.resumes >= maxResumes) {
+                logger.info("{} already resumed {} time(s) - running in full", testId, journal.resumes);
+                journal.reset();
+            } else {
+                journal.truncate(checkpoint + 1);
+                journal.skipCount = checkpoint + 1;
+                journal.resumes++;
+            }
+        }
+        journal.save();
+        return journal;
+    }
+
+    /**
+     * Deletes the journal of a test, e.g. after it passed.
+     *
+     * @param dir directory holding the journals
+     * @param testId unique name of the test
+     */
+    public static void delete(Path dir, String testId) {
+        try {
+            Files.deleteIfExists(dir.resolve(fileName(testId)));
+        } catch (IOException e) {
+            logger.warn("Failed to delete step journal of {}: {}", testId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the screen of the checkpoint this run resumes from, or null for a full run
+     */
+    public Screen resumeScreen() {
+        return skipCount == 0 ? null : steps.get(skipCount - 1).screen;
+    }
+
+    /**
+     * @return names of the steps this run skips
+     */
+    public List<String> skippedSteps() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < skipCount; i++) {
+            names.add(steps.get(i).name);
+        }
+        return names;
+    }
+
+    /**
+     * Gives up resuming because the checkpoint's state could not be restored: the run goes in full.
+     */
+    public void abandonResume() {
+        reset();
+        save();
+    }
+
+    /**
+     * Called as the test reaches a step. If the step does not match the one the journal recorded at
+     * this position, the test changed since its last run: the journal is discarded and this call and
+     * every later one return false, see {@link #resumeDiscarded()}.
+     *
+     * @param name the step name
+     * @return true if the step was completed by an earlier run and is skipped in this one
+     */
+    public boolean shouldSkip(String name) {
+        int index = position++;
+        if (index >= skipCount) {
+            return false;
+        }
+        String recorded = steps.get(index).name;
+        if (!recorded.equals(name)) {
+            logger.warn("Step {} is '{}' but the journal recorded '{}' - the test changed since its last run;"
+                    + " journal discarded, running in full", index + 1, name, recorded);
+            discardSteps();
+            save();
+            discarded = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if a step did not match the journal, so the steps skipped before it have to run after all
+     */
+    public boolean resumeDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Records a completed step.
+     *
+     * @param name the step name
+     * @param checkpointScreen the screen the step leaves the app on if it is a checkpoint, null otherwise
+     */
+    public void completed(String name, Screen checkpointScreen) {
+        steps.add(new Step(name, checkpointScreen));
+        save();
+    }
+
+    /**
+     * Returns the value recorded under a key, computing and recording it on first use.
+     *
+     * @param key the value's name
+     * @param value computes the value when the journal has none
+     * @return the recorded value
+     */
+    public String value(String key, Supplier<String> value) {
+        String v = values.get(key);
+        if (v == null) {
+            v = value.get();
+            values.put(key, v);
+            save();
+        }
+        return v;
+    }
+
+    private int lastCheckpoint() {
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            if (steps.get(i).screen != null) return i;
+        }
+        return -1;
+    }
+
+    private void truncate(int size) {
+        steps.subList(size, steps.size()).clear();
+    }
+
+    private void reset() {
+        values.clear();
+        discardSteps();
+    }
+
+    /** Starts the step record over; the values stay, since the test may already be using them. */
+    private void discardSteps() {
+        steps.clear();
+        resumes = 0;
+        skipCount = 0;
+        position = 0;
+    }
+
+    private void load() {
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            resumes = root.path("resumes").asInt(0);
+            for (JsonNode s : root.path("steps")) {
+                String screen = s.path("checkpoint").asText(null);
+                steps.add(new Step(s.path("name").asText(), screen == null ? null : Screen.valueOf(screen)));
+            }
+            root.path("values").fields().forEachRemaining(e -> values.put(e.getKey(), e.getValue().asText()));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable step journal {}: {}", file, e.getMessage());
+            reset();
+        }
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("resumes", resumes);
+        ArrayNode array = root.putArray("steps");
+        for (Step s : steps) {
+            ObjectNode node = array.addObject().put("name", s.name);
+            if (s.screen != null) node.put("checkpoint", s.screen.name());
+        }
+        ObjectNode v = root.putObject("values");
+        values.forEach(v::put);
+        try {
+            Files.createDirectories(file.getParent());
+            MAPPER.writeValue(file.toFile(), root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write step journal " + file, e);
+        }
+    }
+
+    private static String fileName(String testId) {
+        return testId.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+    }
+}
@@ -0,0 +1,629 @@
+package tests.fake;
+
+import framework.pages.Screen;
+import framework.snapshot.PageSnapshot;
+import framework.snapshot.SnapshotNode;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Scripted model of the bug tracker app as UiAutomator2 sees it.
+ * Renders the current screen as a page source and applies taps, typing and scrolling to it.
+ * Element handles are keyed by each node's position and identity, so a handle goes stale
+ * when its element disappears, as it would on a device.
+ */
+public final class BugTrackerModel {
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 2400;
+    static final int CONTENT_TOP = 63;
+
+    private static final DateTimeFormatter DMY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DAY_DESC = DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter HEADER_DATE = DateTimeFormatter.ofPattern("EEE, MMM d", Locale.ENGLISH);
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2100;
+    private static final int YEAR_ROW = 110;
+    private static final int YEAR_LIST_TOP = 650;
+    private static final int YEAR_LIST_BOTTOM = 1750;
+
+    private static final String[] CREATE_FIELDS = {"bugId", "bugDate", "bugTitle", "bugSteps", "bugExpectedResult",
+            "bugActualResult", "bugStatus", "bugSeverity", "bugPriority", "bugDetectedBy", "bugFixedBy", "bugDateClosed"};
+    private static final Map<String, List<String>> OPTIONS = Map.of(
+            "Status", List.of("Open", "Fixed", "Closed", "Not a Bug"),
+            "Severity", List.of("Critical", "Major", "Minor", "Trivial"),
+            "Priority", List.of("Critical", "High", "Medium", "Low"));
+
+    /** A rendered screen: the node tree, its page source and the lookup tables for element handles. */
+    static final class Rendered {
+        final UiNode root;
+        final String source;
+        final Map<String, UiNode> byKey = new HashMap<>();
+        final Map<UiNode, String> keys = new IdentityHashMap<>();
+        final List<UiNode> preorder = new ArrayList<>();
+        private PageSnapshot snapshot;
+
+        Rendered(UiNode root) {
+            this.root = root;
+            index(root, "");
+            StringBuilder xml = new StringBuilder(8192)
+                    .append("<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>")
+                    .append("<hierarchy index=\"0\" class=\"hierarchy\" rotation=\"0\" width=\"")
+                    .append(WIDTH).append("\" height=\"").append(HEIGHT).append("\">");
+            for (int i = 0; i < root.children.size(); i++) {
+                root.children.get(i).appendXml(xml, i);
+            }
+            this.source = xml.append("</hierarchy>").toString();
+        }
+
+        private void index(UiNode node, String parentKey) {
+            Map<String, Integer> seen = new HashMap<>();
+            for (UiNode child : node.children) {
+                String id = child.className + ":" + child.identity();
+                int n = seen.merge(id, 1, Integer::sum);
+                String key = parentKey + "/" + id + "#" + n;
+                byKey.put(key, child);
+                keys.put(child, key);
+                preorder.add(child);
+                index(child, key);
+            }
+        }
+
+        /**
+         * Evaluates a locator with the framework's own snapshot engine and maps the matches back to nodes.
+         */
+        List<UiNode> findAll(By locator) {
+            if (snapshot == null) {
+                snapshot = PageSnapshot.parse(source);
+            }
+            List<SnapshotNode> all = snapshot.getRoot().descendants();
+            Map<SnapshotNode, Integer> position = new IdentityHashMap<>();
+            for (int i = 0; i < all.size(); i++) {
+                position.put(all.get(i), i);
+            }
+            List<UiNode> result = new ArrayList<>();
+            for (SnapshotNode match : snapshot.findAll(locator)) {
+                result.add(preorder.get(position.get(match)));
+            }
+            return result;
+        }
+    }
+
+    private static final class Bug {
+        final Map<String, String> fields = new LinkedHashMap<>();
+
+        String get(String key) {
+            return fields.getOrDefault(key, "");
+        }
+    }
+
+    private static final class DatePicker {
+        final String fieldKey;
+        LocalDate selected;
+        YearMonth shown;
+        boolean yearList;
+        int yearOffset;
+
+        DatePicker(String fieldKey, LocalDate selected) {
+            this.fieldKey = fieldKey;
+            this.selected = selected;
+            this.shown = YearMonth.from(selected);
+        }
+    }
+
+    private final List<Bug> bugs = new ArrayList<>();
+    private final Map<String, String> form = new HashMap<>();
+    private final Map<String, String> handleToKey = new HashMap<>();
+    private final Map<String, String> keyToHandle = new HashMap<>();
+
+    private Screen screen = Screen.HOME;
+    private String filter = "All";
+    private String search = "";
+    private String editingId;
+    private String message = "";
+    private int scrollY;
+    private int maxScrollY;
+    private String dropdownKey;
+    private DatePicker picker;
+    private Rendered current;
+
+    /**
+     * Adds a bug to the app's data.
+     */
+    public synchronized void addBug(String id, String title, String status) {
+        Bug bug = new Bug();
+        bug.fields.put("id", id);
+        bug.fields.put("title", title);
+        bug.fields.put("status", status);
+        bugs.add(bug);
+        current = null;
+    }
+
+    /**
+     * @return the stored fields of a bug, or null if there is no bug with this ID
+     */
+    public synchronized Map<String, String> bug(String id) {
+        return bugs.stream().filter(b -> b.get("id").equals(id)).findFirst().map(b -> Map.copyOf(b.fields)).orElse(null);
+    }
+
+    public synchronized Screen screen() {
+        return screen;
+    }
+
+    /**
+     * Relaunches the app: back to the home page with no popups, data kept.
+     */
+    synchronized void restart() {
+        navigate(Screen.HOME);
+    }
+
+    synchronized String pageSource() {
+        return rendered().source;
+    }
+
+    // ---- element lookup ----
+
+    synchronized List<String> find(String using, String value) {
+        if ("-android uiautomator".equals(using) && value.trim().startsWith("new UiScrollable(")) {
+            return scrollable(value.trim());
+        }
+        By locator;
+        switch (using) {
+            case "-android uiautomator":
+                locator = AppiumBy.androidUIAutomator(value);
+                break;
+            case "id":
+                locator = AppiumBy.id(value);
+                break;
+            case "class name":
+                locator = AppiumBy.className(value);
+                break;
+            default:
+                throw FakeProtocolException.invalidArgument("Unsupported locator strategy: " + using);
+        }
+        Rendered r = rendered();
+        List<String> handles = new ArrayList<>();
+        for (UiNode node : r.findAll(locator)) {
+            if (node.displayed) {
+                handles.add(handleFor(r.keys.get(node)));
+            }
+        }
+        return handles;
+    }
+
+    synchronized UiNode node(String handle) {
+        String key = handleToKey.get(handle);
+        UiNode node = key == null ? null : rendered().byKey.get(key);
+        if (node == null) {
+            throw FakeProtocolException.stale("Element " + handle + " is no longer on screen");
+        }
+        return node;
+    }
+
+    // ---- interactions ----
+
+    synchronized void click(String handle) {
+        tap(node(handle));
+    }
+
+    synchronized void clear(String handle) {
+        UiNode node = node(handle);
+        if (node.inputKey != null) {
+            form.put(node.inputKey, "");
+            current = null;
+        }
+    }
+
+    synchronized void type(String handle, String text) {
+        UiNode node = node(handle);
+        if (node.inputKey == null) {
+            throw new FakeProtocolException(400, "element not interactable", "Element is not editable: " + node.identity());
+        }
+        form.merge(node.inputKey, text, String::concat);
+        if (node.inputKey.equals("searchInput")) {
+            search = form.get("searchInput");
+        }
+        current = null;
+    }
+
+    /**
+     * Taps a screen coordinate: the topmost displayed, clickable node under it receives the tap.
+     */
+    synchronized void tapAt(int x, int y) {
+        UiNode hit = null;
+        for (UiNode node : rendered().preorder) {
+            if (node.displayed && node.clickable && node.contains(x, y)) {
+                hit = node;
+            }
+        }
+        if (hit != null) {
+            tap(hit);
+        } else if (dropdownKey != null) {
+            dropdownKey = null;
+            current = null;
+        }
+    }
+
+    /**
+     * Drags content up by the given distance (negative drags it down).
+     */
+    synchronized void drag(int x, int y, int distance) {
+        if (picker != null && picker.yearList && y >= YEAR_LIST_TOP && y < YEAR_LIST_BOTTOM) {
+            picker.yearOffset = clamp(picker.yearOffset + distance, 0, maxYearOffset());
+        } else if (picker == null && dropdownKey == null) {
+            rendered();
+            scrollY = clamp(scrollY + distance, 0, maxScrollY);
+        }
+        current = null;
+    }
+
+    /**
+     * {@code mobile: scrollGesture}: scrolls the area the gesture starts in.
+     *
+     * @return whether the area can scroll further in that direction
+     */
+    synchronized boolean scrollGesture(int top, int height, String direction, double percent) {
+        int distance = (int) (height * percent);
+        int sign = "down".equalsIgnoreCase(direction) ? 1 : -1;
+        if (picker != null && picker.yearList && top >= YEAR_LIST_TOP && top < YEAR_LIST_BOTTOM) {
+            picker.yearOffset = clamp(picker.yearOffset + sign * distance, 0, maxYearOffset());
+            current = null;
+            return sign > 0 ? picker.yearOffset < maxYearOffset() : picker.yearOffset > 0;
+        }
+        rendered();
+        scrollY = clamp(scrollY + sign * distance, 0, maxScrollY);
+        current = null;
+        return sign > 0 ? scrollY < maxScrollY : scrollY > 0;
+    }
+
+    // ---- UiScrollable ----
+
+    private List<String> scrollable(String expression) {
+        boolean yearPicker = expression.contains("date_picker_year_picker") && picker != null && picker.yearList;
+        int intoView = expression.indexOf(".scrollIntoView(");
+        if (intoView >= 0) {
+            String target = expression.substring(intoView + ".scrollIntoView(".length(), expression.lastIndexOf(')'));
+            Rendered r = rendered();
+            List<UiNode> matches = r.findAll(AppiumBy.androidUIAutomator(target));
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            UiNode node = matches.get(0);
+            String key = r.keys.get(node);
+            if (!node.displayed && "years".equals(node.scroller)) {
+                picker.yearOffset = clamp(picker.yearOffset + node.top - YEAR_LIST_TOP, 0, maxYearOffset());
+            } else if (!node.displayed && "page".equals(node.scroller)) {
+                scrollY = clamp(scrollY + node.top - (CONTENT_TOP + 300), 0, maxScrollY);
+            }
+            current = null;
+            return rendered().byKey.containsKey(key) ? List.of(handleFor(key)) : List.of();
+        }
+        if (yearPicker) {
+            int page = YEAR_LIST_BOTTOM - YEAR_LIST_TOP;
+            if (expression.contains(".scrollForward()")) picker.yearOffset += page;
+            if (expression.contains(".scrollBackward()")) picker.yearOffset -= page;
+            if (expression.contains(".flingToEnd(")) picker.yearOffset = maxYearOffset();
+            if (expression.contains(".flingToBeginning(")) picker.yearOffset = 0;
+            picker.yearOffset = clamp(picker.yearOffset, 0, maxYearOffset());
+            current = null;
+            return find("id", "android:id/date_picker_year_picker");
+        }
+        throw FakeProtocolException.invalidArgument("Unsupported UiScrollable expression: " + expression);
+    }
+
+    // ---- taps ----
+
+    private void tap(UiNode node) {
+        if (node.onClick != null) {
+            node.onClick.run();
+            current = null;
+        }
+    }
+
+    private void navigate(Screen target) {
+        screen = target;
+        scrollY = 0;
+        dropdownKey = null;
+        picker = null;
+        message = "";
+        if (target == Screen.CREATE_BUG) {
+            form.clear();
+            form.put("bugStatus", "Open");
+            form.put("bugSeverity", "Minor");
+            form.put("bugPriority", "Low");
+        }
+        if (target == Screen.VIEW_BUGS) {
+            form.remove("searchInput");
+            search = "";
+        }
+        current = null;
+    }
+
+    private void openEdit(Bug bug) {
+        navigate(Screen.EDIT_BUG);
+        editingId = bug.get("id");
+        form.clear();
+        bug.fields.forEach((k, v) -> form.put("editBug" + Character.toUpperCase(k.charAt(0)) + k.substring(1), v));
+    }
+
+    private void addBugFromForm() {
+        if (form.getOrDefault("bugId", "").isEmpty() || form.getOrDefault("bugTitle", "").isEmpty()) {
+            message = "Bug ID and title are required";
+            return;
+        }
+        Bug bug = new Bug();
+        for (String field : CREATE_FIELDS) {
+            bug.fields.put(fieldName(field, "bug"), form.getOrDefault(field, ""));
+        }
+        bugs.removeIf(b -> b.get("id").equals(bug.get("id")));
+        bugs.add(bug);
+        navigate(Screen.CREATE_BUG);
+        message = "Bug added";
+    }
+
+    private void saveEdit() {
+        bugs.stream().filter(b -> b.get("id").equals(editingId)).findFirst().ifPresent(bug ->
+                form.forEach((k, v) -> {
+                    if (k.startsWith("editBug")) bug.fields.put(fieldName(k, "editBug"), v);
+                }));
+        navigate(Screen.VIEW_BUGS);
+    }
+
+    private static String fieldName(String resourceId, String prefix) {
+        String rest = resourceId.substring(prefix.length());
+        return Character.toLowerCase(rest.charAt(0)) + rest.substring(1);
+    }
+
+    private void openPicker(String fieldKey) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(form.getOrDefault(fieldKey, ""), DMY);
+        } catch (RuntimeException e) {
+            date = LocalDate.now();
+        }
+        picker = new DatePicker(fieldKey, date);
+    }
+
+    // ---- rendering ----
+
+    private Rendered rendered() {
+        if (current == null) {
+            current = new Rendered(build());
+        }
+        return current;
+    }
+
+    private UiNode build() {
+        UiNode root = new UiNode("hierarchy");
+        // UiAutomator2 only sees the focused window, so an open popup hides the page behind it
+        if (dropdownKey != null) {
+            dropdown(root);
+            return root;
+        }
+        if (picker != null) {
+            datePicker(root);
+            return root;
+        }
+        UiNode app = root.add(new UiNode("android.widget.FrameLayout").bounds(0, 0, WIDTH, HEIGHT));
+        UiNode web = app.add(new UiNode("android.webkit.WebView").text("Bug Tracker")
+                .bounds(0, CONTENT_TOP, WIDTH, HEIGHT));
+        web.scrollable = true;
+
+        UiNode page = web.add(new UiNode("android.view.View").bounds(0, CONTENT_TOP, WIDTH, HEIGHT));
+        int y = CONTENT_TOP + 20;
+        y = navBar(page, y);
+        switch (screen) {
+            case HOME:
+                page.id("homePage");
+                page.add(new UiNode("android.widget.TextView").text("Welcome to the bug tracker")
+                        .bounds(40, y, 1040, y + 80));
+                y += 100;
+                break;
+            case VIEW_BUGS:
+                page.id("viewBugsPage");
+                y = viewBugs(page, y);
+                break;
+            case CREATE_BUG:
+                page.id("createBugPage");
+                y = form(page, y, "Create a Bug", "bug", true);
+                break;
+            case EDIT_BUG:
+                page.id("editBugPage");
+                y = form(page, y, "Edit Bug", "editBug", false);
+                break;
+            default:
+                break;
+        }
+        page.bottom = Math.max(HEIGHT, y);
+        maxScrollY = Math.max(0, y + 40 - HEIGHT);
+        scrollY = clamp(scrollY, 0, maxScrollY);
+        page.scrolledBy("page");
+        for (UiNode child : page.children) {
+            child.shift(-scrollY, CONTENT_TOP, HEIGHT);
+        }
+        page.bottom = HEIGHT;
+        return root;
+    }
+
+    private int navBar(UiNode page, int y) {
+        page.add(button("Home", 40, y, 360, y + 100, () -> navigate(Screen.HOME)));
+        page.add(button("Create Bug", 380, y, 700, y + 100, () -> navigate(Screen.CREATE_BUG)));
+        page.add(button("View Bugs", 720, y, 1040, y + 100, () -> navigate(Screen.VIEW_BUGS)));
+        return y + 140;
+    }
+
+    private int viewBugs(UiNode page, int y) {
+        String[] filters = {"All", "Open", "Fixed", "Closed", "Not a Bug"};
+        for (int i = 0; i < filters.length; i++) {
+            String f = filters[i];
+            int x = 40 + i * 200;
+            page.add(button(f, x, y, x + 190, y + 100, () -> filter = f));
+        }
+        y += 130;
+        UiNode searchBox = page.add(new UiNode("android.widget.EditText").id("searchInput")
+                .text(form.getOrDefault("searchInput", "")).input("searchInput").bounds(40, y, 1040, y + 110));
+        searchBox.clickable = true;
+        y += 140;
+
+        UiNode list = page.add(new UiNode("android.view.View").id("bugList").bounds(0, y, WIDTH, y));
+        for (Bug bug : bugs) {
+            if (!"All".equals(filter) && !filter.equals(bug.get("status"))) continue;
+            if (!search.isEmpty() && !bug.get("title").toLowerCase(Locale.ROOT).contains(search.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            String id = bug.get("id");
+            UiNode row = list.add(new UiNode("android.view.View").tag("row-" + id).bounds(0, y, WIDTH, y + 210));
+            row.add(new UiNode("android.widget.TextView").text(bug.get("title") + " (ID: " + id + ")")
+                    .bounds(40, y + 10, 1040, y + 70));
+            row.add(new UiNode("android.widget.TextView").text("Status: " + bug.get("status"))
+                    .bounds(40, y + 75, 1040, y + 125));
+            row.add(button("Edit", 40, y + 135, 300, y + 200, () -> openEdit(bug)).tag("edit-" + id));
+            row.add(button("Delete", 320, y + 135, 580, y + 200, () -> bugs.remove(bug)).tag("delete-" + id));
+            y += 220;
+        }
+        list.bottom = y;
+        return y;
+    }
+
+    private int form(UiNode page, int y, String heading, String prefix, boolean create) {
+        page.add(new UiNode("android.widget.TextView").text(heading).bounds(40, y, 1040, y + 90));
+        y += 110;
+        if (!message.isEmpty()) {
+            page.add(new UiNode("android.widget.TextView").text(message).bounds(40, y, 1040, y + 60));
+            y += 80;
+        }
+        for (String field : CREATE_FIELDS) {
+            if (!create && field.equals("bugId")) continue;
+            String id = prefix + field.substring(3);
+            String name = field.substring(3);
+            page.add(new UiNode("android.widget.TextView").text(name + ":").bounds(40, y, 1040, y + 50));
+            y += 60;
+            UiNode input;
+            if (name.startsWith("Date")) {
+                input = new UiNode("android.widget.EditText").onClick(() -> openPicker(id));
+                input.inputKey = id;
+            } else if (OPTIONS.containsKey(name)) {
+                input = new UiNode("android.widget.Spinner").onClick(() -> dropdownKey = id);
+            } else {
+                input = new UiNode("android.widget.EditText").input(id);
+            }
+            page.add(input.id(id).text(form.getOrDefault(id, "")).bounds(40, y, 1040, y + 110));
+            y += 150;
+        }
+        page.add(button("Choose File", 40, y, 500, y + 100, () -> { }).id(prefix + "File"));
+        y += 140;
+        if (create) {
+            page.add(button("Add Bug", 40, y, 1040, y + 120, this::addBugFromForm));
+        } else {
+            page.add(button("Save Changes", 40, y, 520, y + 120, this::saveEdit));
+            page.add(button("Cancel Editing", 560, y, 1040, y + 120, () -> navigate(Screen.VIEW_BUGS)));
+        }
+        return y + 160;
+    }
+
+    private void dropdown(UiNode root) {
+        String name = dropdownKey.replaceFirst("^(editBug|bug)", "");
+        List<String> options = OPTIONS.getOrDefault(name, List.of());
+        UiNode window = root.add(new UiNode("android.widget.FrameLayout").bounds(140, 800, 940, 800 + options.size() * 140));
+        UiNode list = window.add(new UiNode("android.widget.ListView").bounds(140, 800, 940, 800 + options.size() * 140));
+        String key = dropdownKey;
+        for (int i = 0; i < options.size(); i++) {
+            String option = options.get(i);
+            UiNode item = list.add(new UiNode("android.widget.CheckedTextView").text(option)
+                    .bounds(140, 800 + i * 140, 940, 940 + i * 140).onClick(() -> {
+                        form.put(key, option);
+                        dropdownKey = null;
+                    }));
+            item.checkable = true;
+            item.checked = option.equals(form.get(key));
+        }
+    }
+
+    private void datePicker(UiNode root) {
+        DatePicker p = picker;
+        UiNode window = root.add(new UiNode("android.widget.FrameLayout").bounds(60, 400, 1020, 2000));
+        window.add(new UiNode("android.widget.TextView").id("android:id/date_picker_header_year")
+                .text(String.valueOf(p.selected.getYear())).bounds(100, 430, 400, 500)
+                .onClick(() -> {
+                    p.yearList = true;
+                    p.yearOffset = clamp((p.selected.getYear() - MIN_YEAR - 4) * YEAR_ROW, 0, maxYearOffset());
+                }));
+        window.add(new UiNode("android.widget.TextView").id("android:id/date_picker_header_date")
+                .text(p.selected.format(HEADER_DATE)).bounds(100, 510, 900, 620)
+                .onClick(() -> p.yearList = false));
+
+        if (p.yearList) {
+            UiNode list = window.add(new UiNode("android.widget.ListView").id("android:id/date_picker_year_picker")
+                    .bounds(60, YEAR_LIST_TOP, 1020, YEAR_LIST_BOTTOM));
+            list.scrollable = true;
+            for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+                int top = YEAR_LIST_TOP + (year - MIN_YEAR) * YEAR_ROW - p.yearOffset;
+                int chosen = year;
+                // Like UiAutomator2, rows cut off by the list report bounds clipped to it
+                UiNode row = list.add(new UiNode("android.widget.TextView").text(String.valueOf(year))
+                        .bounds(60, Math.max(top, YEAR_LIST_TOP), 1020, Math.min(top + YEAR_ROW, YEAR_LIST_BOTTOM)).onClick(() -> {
+                            p.selected = p.selected.withYear(chosen);
+                            p.shown = YearMonth.from(p.selected);
+                            p.yearList = false;
+                        }));
+                row.displayed = top + YEAR_ROW > YEAR_LIST_TOP && top < YEAR_LIST_BOTTOM;
+                row.scroller = "years";
+            }
+        } else {
+            window.add(new UiNode("android.widget.ImageButton").id("android:id/prev").desc("Previous month")
+                    .bounds(100, 650, 220, 770).onClick(() -> p.shown = p.shown.minusMonths(1)));
+            window.add(new UiNode("android.widget.ImageButton").id("android:id/next").desc("Next month")
+                    .bounds(840, 650, 960, 770).onClick(() -> p.shown = p.shown.plusMonths(1)));
+            UiNode month = window.add(new UiNode("android.view.View").id("android:id/month_view")
+                    .bounds(60, 780, 1020, 1600));
+            month.add(new UiNode("android.widget.TextView")
+                    .text(p.shown.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + p.shown.getYear())
+                    .bounds(240, 660, 820, 760));
+            int offset = p.shown.atDay(1).getDayOfWeek().getValue() % 7;
+            for (int day = 1; day <= p.shown.lengthOfMonth(); day++) {
+                int cell = offset + day - 1;
+                int left = 85 + (cell % 7) * 130;
+                int top = 800 + (cell / 7) * 120;
+                LocalDate date = p.shown.atDay(day);
+                month.add(new UiNode("android.view.View").text(String.valueOf(day)).desc(date.format(DAY_DESC))
+                        .bounds(left, top, left + 120, top + 110).onClick(() -> p.selected = date));
+            }
+        }
+        window.add(button("Cancel", 500, 1850, 740, 1960, () -> picker = null).id("android:id/button2"));
+        window.add(button("OK", 760, 1850, 1000, 1960, () -> {
+            form.put(p.fieldKey, p.selected.format(DMY));
+            picker = null;
+        }).id("android:id/button1"));
+    }
+
+    private static UiNode button(String text, int left, int top, int right, int bottom, Runnable action) {
+        return new UiNode("android.widget.Button").text(text).bounds(left, top, right, bottom).onClick(action);
+    }
+
+    private int maxYearOffset() {
+        return (MAX_YEAR - MIN_YEAR + 1) * YEAR_ROW - (YEAR_LIST_BOTTOM - YEAR_LIST_TOP);
+    }
+
+    private String handleFor(String key) {
+        return keyToHandle.computeIfAbsent(key, k -> {
+            String handle = "el-" + (handleToKey.size() + 1);
+            handleToKey.put(handle, k);
+            return handle;
+        });
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
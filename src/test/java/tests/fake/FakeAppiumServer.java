@@ -0,0 +1,457 @@
+package tests.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for an Appium server driving the bug tracker app, for timing test flows without a device.
+ * Speaks the subset of the W3C WebDriver and Appium protocol the framework uses (sessions, element lookup,
+ * clicks, typing, text, W3C actions, page source and the {@code mobile:} scripts) against a
+ * {@link BugTrackerModel}, and sleeps before answering each command to stand in for the device round trip.
+ * Latency is configurable per command, and every command is counted so a flow's round trips can be reported.
+ */
+public final class FakeAppiumServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FakeAppiumServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final Pattern SESSION_PATH = Pattern.compile("^/session/([^/]+)(/.*)?$");
+    private static final Pattern ELEMENT_PATH = Pattern.compile("^/element/([^/]+)/(.+)$");
+    private static final int TAP_SLOP = 10;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BugTrackerModel model = new BugTrackerModel();
+    private final Map<String, Duration> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> commandCounts = new ConcurrentHashMap<>();
+    private final AtomicLong simulatedNanos = new AtomicLong();
+    private volatile Duration defaultLatency = Duration.ZERO;
+    private volatile String sessionId;
+
+    /**
+     * Starts a server on a free port of the loopback interface.
+     *
+     * @throws IOException if the server socket cannot be opened
+     */
+    public FakeAppiumServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "fake-appium");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fake Appium server listening on {}", url());
+    }
+
+    /**
+     * @return the base URL to point a driver at
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return the screen model served to clients, e.g. to add bugs before a flow
+     */
+    public BugTrackerModel model() {
+        return model;
+    }
+
+    /**
+     * Sets the latency added to every command without a latency of its own.
+     *
+     * @param latency delay before each response
+     * @return this server
+     */
+    public FakeAppiumServer latency(Duration latency) {
+        this.defaultLatency = latency;
+        return this;
+    }
+
+    /**
+     * Sets the latency of one command, e.g. a slow {@code getPageSource}.
+     *
+     * @param command command name as reported by {@link #commandCounts()}
+     * @param latency delay before each response to this command
+     * @return this server
+     */
+    public FakeAppiumServer latency(String command, Duration latency) {
+        commandLatency.put(command, latency);
+        return this;
+    }
+
+    /**
+     * @return number of requests served per command, sorted by command name
+     */
+    public Map<String, Long> commandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        commandCounts.forEach((command, n) -> counts.put(command, n.sum()));
+        return counts;
+    }
+
+    /**
+     * @return total number of requests served
+     */
+    public long roundTrips() {
+        return commandCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return total latency injected so far, including the time spent performing gestures
+     */
+    public Duration simulatedTime() {
+        return Duration.ofNanos(simulatedNanos.get());
+    }
+
+    /**
+     * Clears the command counters and the simulated time.
+     */
+    public void resetStats() {
+        commandCounts.clear();
+        simulatedNanos.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        int status = 200;
+        Object value;
+        try {
+            JsonNode body = readBody(exchange);
+            value = route(method, path, body);
+        } catch (FakeProtocolException e) {
+            status = e.status;
+            value = Map.of("error", e.error, "message", String.valueOf(e.getMessage()), "stacktrace", "");
+        } catch (RuntimeException e) {
+            logger.warn("Fake server failed on {} {}", method, path, e);
+            status = 500;
+            value = Map.of("error", "unknown error", "message", String.valueOf(e), "stacktrace", "");
+        }
+        byte[] response = MAPPER.writeValueAsBytes(Map.of("value", value == null ? MAPPER.nullNode() : value));
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private Object route(String method, String path, JsonNode body) {
+        if (method.equals("POST") && path.equals("/session")) {
+            count("newSession");
+            return newSession(body);
+        }
+        Matcher m = SESSION_PATH.matcher(path);
+        if (!m.matches()) {
+            count("unknown");
+            throw FakeProtocolException.unknownCommand("Unknown command: " + method + " " + path);
+        }
+        if (!m.group(1).equals(sessionId)) {
+            count("invalidSession");
+            throw new FakeProtocolException(404, "invalid session id", "No active session " + m.group(1));
+        }
+        String command = m.group(2) == null ? "" : m.group(2);
+        String key = method + " " + command;
+
+        Matcher element = ELEMENT_PATH.matcher(command);
+        if (element.matches() && !command.startsWith("/element/active")) {
+            return elementCommand(method, element.group(1), element.group(2), body);
+        }
+        switch (key) {
+            case "DELETE ":
+                delay("deleteSession");
+                sessionId = null;
+                return null;
+            case "GET ":
+                delay("getSession");
+                return capabilities();
+            case "POST /element":
+                delay("findElement");
+                return findElement(body);
+            case "POST /elements":
+                delay("findElements");
+                return findElements(body);
+            case "GET /source":
+                delay("getPageSource");
+                return model.pageSource();
+            case "POST /actions":
+                delay("actions");
+                performActions(body);
+                return null;
+            case "DELETE /actions":
+                delay("releaseActions");
+                return null;
+            case "POST /execute/sync":
+                return execute(body);
+            case "POST /timeouts":
+                delay("setTimeouts");
+                return null;
+            case "GET /timeouts":
+                delay("getTimeouts");
+                return Map.of("implicit", 0, "pageLoad", 300000, "script", 30000);
+            case "GET /window/rect":
+            case "GET /window/current/size":
+                delay("getWindowRect");
+                return Map.of("x", 0, "y", 0, "width", BugTrackerModel.WIDTH, "height", BugTrackerModel.HEIGHT);
+            case "POST /appium/device/hide_keyboard":
+                delay("hideKeyboard");
+                return true;
+            default:
+                count("unknown");
+                throw FakeProtocolException.unknownCommand("Unknown command: " + key);
+        }
+    }
+
+    private Object newSession(JsonNode body) {
+        delay("newSession", false);
+        model.restart();
+        sessionId = UUID.randomUUID().toString();
+        Map<String, Object> caps = capabilities();
+        JsonNode requested = body.path("capabilities").path("alwaysMatch");
+        requested.fields().forEachRemaining(e -> caps.putIfAbsent(e.getKey(), MAPPER.convertValue(e.getValue(), Object.class)));
+        return Map.of("sessionId", sessionId, "capabilities", caps);
+    }
+
+    private Map<String, Object> capabilities() {
+        Map<String, Object> caps = new TreeMap<>();
+        caps.put("platformName", "Android");
+        caps.put("appium:automationName", "UiAutomator2");
+        caps.put("appium:deviceName", "fake");
+        caps.put("appium:appPackage", "com.atidcollege.bugtracker");
+        return caps;
+    }
+
+    private Object findElement(JsonNode body) {
+        List<String> handles = model.find(body.path("using").asText(), body.path("value").asText());
+        if (handles.isEmpty()) {
+            throw FakeProtocolException.noSuchElement("No element matches " + body.path("value").asText());
+        }
+        return reference(handles.get(0));
+    }
+
+    private Object findElements(JsonNode body) {
+        List<Object> refs = new ArrayList<>();
+        for (String handle : model.find(body.path("using").asText(), body.path("value").asText())) {
+            refs.add(reference(handle));
+        }
+        return refs;
+    }
+
+    private static Map<String, String> reference(String handle) {
+        return Map.of(ELEMENT_KEY, handle, "ELEMENT", handle);
+    }
+
+    private Object elementCommand(String method, String handle, String command, JsonNode body) {
+        if (command.startsWith("attribute/")) {
+            delay("getElementAttribute");
+            return attribute(model.node(handle), command.substring("attribute/".length()));
+        }
+        switch (method + " " + command) {
+            case "POST click":
+                delay("click");
+                model.click(handle);
+                return null;
+            case "POST clear":
+                delay("clear");
+                model.clear(handle);
+                return null;
+            case "POST value":
+                delay("sendKeys");
+                model.type(handle, body.has("text") ? body.path("text").asText() : joined(body.path("value")));
+                return null;
+            case "GET text":
+                delay("getElementText");
+                return model.node(handle).text;
+            case "GET displayed":
+                delay("isElementDisplayed");
+                return model.node(handle).displayed;
+            case "GET enabled":
+                delay("isElementEnabled");
+                model.node(handle);
+                return true;
+            case "GET selected":
+                delay("isElementSelected");
+                return model.node(handle).checked;
+            case "GET name":
+                delay("getElementTagName");
+                return model.node(handle).className;
+            case "GET rect": {
+                delay("getElementRect");
+                UiNode node = model.node(handle);
+                return Map.of("x", node.left, "y", node.top,
+                        "width", node.right - node.left, "height", node.bottom - node.top);
+            }
+            default:
+                count("unknown");
+                throw FakeProtocolException.unknownCommand("Unknown element command: " + method + " " + command);
+        }
+    }
+
+    private static Object attribute(UiNode node, String name) {
+        switch (name) {
+            case "text":
+                return node.text;
+            case "resource-id":
+            case "resourceId":
+                return node.resourceId;
+            case "content-desc":
+            case "contentDescription":
+                return node.contentDesc;
+            case "class":
+            case "className":
+                return node.className;
+            case "clickable":
+                return String.valueOf(node.clickable);
+            case "scrollable":
+                return String.valueOf(node.scrollable);
+            case "checkable":
+                return String.valueOf(node.checkable);
+            case "checked":
+                return String.valueOf(node.checked);
+            case "displayed":
+                return String.valueOf(node.displayed);
+            case "enabled":
+                return "true";
+            case "bounds":
+                return "[" + node.left + "," + node.top + "][" + node.right + "," + node.bottom + "]";
+            default:
+                return null;
+        }
+    }
+
+    private Object execute(JsonNode body) {
+        String script = body.path("script").asText();
+        JsonNode args = body.path("args").path(0);
+        delay(script.startsWith("mobile:") ? script : "executeScript");
+        switch (script) {
+            case "mobile: scrollGesture":
+                return model.scrollGesture(args.path("top").asInt(), args.path("height").asInt(),
+                        args.path("direction").asText("down"), args.path("percent").asDouble(1.0));
+            case "mobile: type":
+                model.type(args.path("elementId").asText(), args.path("text").asText());
+                return null;
+            case "mobile: hideKeyboard":
+                return true;
+            case "mobile: getCurrentPackage":
+                return "com.atidcollege.bugtracker";
+            case "mobile: terminateApp":
+                return true;
+            case "mobile: activateApp":
+            case "mobile: clearApp":
+                model.restart();
+                return null;
+            default:
+                throw FakeProtocolException.unknownCommand("Unsupported script: " + script);
+        }
+    }
+
+    /**
+     * Replays one pointer's W3C action sequence: a press and release that barely moves is a tap,
+     * anything longer is a drag. Sleeps for the pauses and moves so gestures cost what they would on a device.
+     */
+    private void performActions(JsonNode body) {
+        long gestureMillis = 0;
+        for (JsonNode source : body.path("actions")) {
+            int x = 0, y = 0, downX = 0, downY = 0;
+            for (JsonNode action : source.path("actions")) {
+                String type = action.path("type").asText();
+                gestureMillis += action.path("duration").asLong(0);
+                switch (type) {
+                    case "pointerMove":
+                        x = action.path("x").asInt();
+                        y = action.path("y").asInt();
+                        break;
+                    case "pointerDown":
+                        downX = x;
+                        downY = y;
+                        break;
+                    case "pointerUp":
+                        if (Math.abs(x - downX) <= TAP_SLOP && Math.abs(y - downY) <= TAP_SLOP) {
+                            model.tapAt(x, y);
+                        } else {
+                            model.drag(downX, downY, downY - y);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        sleep(Duration.ofMillis(gestureMillis));
+    }
+
+    private static String joined(JsonNode chars) {
+        StringBuilder text = new StringBuilder();
+        chars.forEach(c -> text.append(c.asText()));
+        return text.toString();
+    }
+
+    private void delay(String command) {
+        delay(command, true);
+    }
+
+    private void delay(String command, boolean counted) {
+        if (counted) {
+            count(command);
+        }
+        sleep(commandLatency.getOrDefault(command, defaultLatency));
+    }
+
+    private void count(String command) {
+        commandCounts.computeIfAbsent(command, c -> new LongAdder()).increment();
+    }
+
+    private void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        simulatedNanos.addAndGet(duration.toNanos());
+        try {
+            Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) {
+                return MAPPER.createObjectNode();
+            }
+            JsonNode node = MAPPER.readTree(new String(bytes, StandardCharsets.UTF_8));
+            return node == null ? MAPPER.createObjectNode() : node;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package tests.fake;
+
+/**
+ * A W3C WebDriver error the fake server reports back to the client.
+ */
+final class FakeProtocolException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    final int status;
+    final String error;
+
+    FakeProtocolException(int status, String error, String message) {
+        super(message);
+        this.status = status;
+        this.error = error;
+    }
+
+    static FakeProtocolException noSuchElement(String message) {
+        return new FakeProtocolException(404, "no such element", message);
+    }
+
+    static FakeProtocolException stale(String message) {
+        return new FakeProtocolException(404, "stale element reference", message);
+    }
+
+    static FakeProtocolException unknownCommand(String message) {
+        return new FakeProtocolException(404, "unknown command", message);
+    }
+
+    static FakeProtocolException invalidArgument(String message) {
+        return new FakeProtocolException(400, "invalid argument", message);
+    }
+}
@@ -0,0 +1,82 @@
+package tests.fake;
+
+import framework.seeding.DeviceShell;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link DeviceShell} that runs commands with the local {@code sh}, in a directory standing in
+ * for the app's data directory ({@code <root>/<appPackage>}). Exercises the real shell and tar
+ * command lines without a device.
+ */
+public final class LocalDeviceShell implements DeviceShell {
+    private final Path root;
+    private final List<String> commands = new ArrayList<>();
+
+    /**
+     * @param root directory holding one data directory per app package
+     */
+    public LocalDeviceShell(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * @param appPackage the app's package
+     * @return the stand-in for the app's data directory
+     */
+    public Path dataDir(String appPackage) {
+        return root.resolve(appPackage);
+    }
+
+    /**
+     * @return every command run so far, in order
+     */
+    public List<String> commands() {
+        return commands;
+    }
+
+    @Override
+    public byte[] runAs(String appPackage, String command, byte[] stdin) {
+        commands.add(command);
+        try {
+            Path dir = Files.createDirectories(dataDir(appPackage));
+            Process process = new ProcessBuilder("sh", "-c", command).directory(dir.toFile()).start();
+            CompletableFuture<byte[]> out = CompletableFuture.supplyAsync(() -> readAll(process.getInputStream()));
+            CompletableFuture<byte[]> err = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()));
+            try (OutputStream in = process.getOutputStream()) {
+                if (stdin != null) {
+                    in.write(stdin);
+                }
+            }
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Command failed (exit " + process.exitValue() + "): " + command
+                        + " - " + new String(err.join(), StandardCharsets.UTF_8).trim());
+            }
+            return out.join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted: " + command, e);
+        }
+    }
+
+    private static byte[] readAll(InputStream stream) {
+        try (InputStream in = stream; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            in.transferTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
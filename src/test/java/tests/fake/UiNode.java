@@ -0,0 +1,147 @@
+package tests.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One element of the fake screen: what UiAutomator2 would report for it, plus what happens when it is tapped.
+ */
+final class UiNode {
+    final String className;
+    final List<UiNode> children = new ArrayList<>();
+    String text = "";
+    String resourceId = "";
+    String contentDesc = "";
+    /** Identity used for element handles when the node has no id, text or description of its own. */
+    String tag = "";
+    boolean clickable;
+    boolean scrollable;
+    boolean checkable;
+    boolean checked;
+    boolean displayed = true;
+    int left, top, right, bottom;
+    Runnable onClick;
+    /** Form field key typed text goes to, for editable nodes. */
+    String inputKey;
+    /** Name of the scrollable area that moves this node, or null if it never scrolls. */
+    String scroller;
+
+    UiNode(String className) {
+        this.className = className;
+    }
+
+    UiNode text(String value) {
+        this.text = value == null ? "" : value;
+        return this;
+    }
+
+    UiNode id(String value) {
+        this.resourceId = value;
+        return this;
+    }
+
+    UiNode desc(String value) {
+        this.contentDesc = value;
+        return this;
+    }
+
+    UiNode tag(String value) {
+        this.tag = value;
+        return this;
+    }
+
+    UiNode bounds(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        return this;
+    }
+
+    UiNode onClick(Runnable action) {
+        this.clickable = true;
+        this.onClick = action;
+        return this;
+    }
+
+    UiNode input(String key) {
+        this.inputKey = key;
+        this.clickable = true;
+        return this;
+    }
+
+    UiNode add(UiNode child) {
+        children.add(child);
+        return child;
+    }
+
+    /**
+     * Marks this node and its subtree as moved by the given scrollable area.
+     */
+    UiNode scrolledBy(String area) {
+        scroller = area;
+        for (UiNode child : children) {
+            child.scrolledBy(area);
+        }
+        return this;
+    }
+
+    boolean contains(int x, int y) {
+        return x >= left && x < right && y >= top && y < bottom;
+    }
+
+    /**
+     * Moves this node and its subtree vertically and marks nodes outside the visible band as not displayed.
+     */
+    void shift(int dy, int visibleTop, int visibleBottom) {
+        top += dy;
+        bottom += dy;
+        displayed = displayed && bottom > visibleTop && top < visibleBottom;
+        for (UiNode child : children) {
+            child.shift(dy, visibleTop, visibleBottom);
+        }
+    }
+
+    String identity() {
+        if (!tag.isEmpty()) return tag;
+        if (!resourceId.isEmpty()) return resourceId;
+        if (!contentDesc.isEmpty()) return contentDesc;
+        return text;
+    }
+
+    void appendXml(StringBuilder out, int index) {
+        out.append('<').append(className)
+                .append(" index=\"").append(index).append('"')
+                .append(" package=\"com.atidcollege.bugtracker\"")
+                .append(" class=\"").append(className).append('"')
+                .append(" text=\"").append(escape(text)).append('"');
+        if (!resourceId.isEmpty()) {
+            out.append(" resource-id=\"").append(escape(resourceId)).append('"');
+        }
+        out.append(" content-desc=\"").append(escape(contentDesc)).append('"')
+                .append(" checkable=\"").append(checkable).append('"')
+                .append(" checked=\"").append(checked).append('"')
+                .append(" clickable=\"").append(clickable).append('"')
+                .append(" enabled=\"true\" focusable=\"").append(clickable).append('"')
+                .append(" focused=\"false\" long-clickable=\"false\" password=\"false\"")
+                .append(" scrollable=\"").append(scrollable).append('"')
+                .append(" selected=\"false\"")
+                .append(" bounds=\"[").append(left).append(',').append(top).append("][")
+                .append(right).append(',').append(bottom).append("]\"")
+                .append(" displayed=\"").append(displayed).append('"');
+        if (children.isEmpty()) {
+            out.append("/>");
+            return;
+        }
+        out.append('>');
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).appendXml(out, i);
+        }
+        out.append("</").append(className).append('>');
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\n", "&#10;");
+    }
+}